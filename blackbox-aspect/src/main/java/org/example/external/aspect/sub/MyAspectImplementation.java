@@ -3,6 +3,7 @@ package org.example.external.aspect.sub;
 import io.avaje.inject.Component;
 import io.avaje.inject.aop.AspectProvider;
 import io.avaje.inject.aop.Invocation;
+import io.avaje.inject.aop.MethodDescriptor;
 import io.avaje.inject.aop.MethodInterceptor;
 import org.example.external.aspect.MyExternalAspect;
 
@@ -17,6 +18,11 @@ class MyAspectImplementation implements AspectProvider<MyExternalAspect>, Method
     return this;
   }
 
+  @Override
+  public MethodInterceptor interceptor(MethodDescriptor method, Class<MyExternalAspect> annotationType) {
+    return this;
+  }
+
   @Override
   public void invoke(Invocation invoke) throws Throwable {
     System.out.println("before args: " + Arrays.toString(invoke.arguments()) + " method: " + invoke.method());
@@ -0,0 +1,29 @@
+package org.example.myapp;
+
+import jakarta.inject.Singleton;
+import org.example.myapp.aspect.MyAsyncTimed;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+@Singleton
+public class AsyncService {
+
+  final CompletableFuture<String> future = new CompletableFuture<>();
+
+  @MyAsyncTimed
+  public CompletionStage<String> stage(String param) {
+    return future.thenApply(value -> value + " " + param);
+  }
+
+  @SuppressWarnings("rawtypes")
+  @MyAsyncTimed
+  public CompletableFuture raw() {
+    return future;
+  }
+
+  @MyAsyncTimed
+  public String sync() {
+    return "sync";
+  }
+}
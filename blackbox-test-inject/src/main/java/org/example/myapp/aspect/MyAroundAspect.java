@@ -2,6 +2,7 @@ package org.example.myapp.aspect;
 
 import io.avaje.inject.aop.AspectProvider;
 import io.avaje.inject.aop.Invocation;
+import io.avaje.inject.aop.MethodDescriptor;
 import io.avaje.inject.aop.MethodInterceptor;
 import jakarta.inject.Singleton;
 
@@ -20,6 +21,11 @@ public class MyAroundAspect implements AspectProvider<MyAround>, MethodIntercept
     return this;
   }
 
+  @Override
+  public MethodInterceptor interceptor(MethodDescriptor method, Class<MyAround> annotationType) {
+    return this;
+  }
+
   @Override
   public void invoke(Invocation invoke) throws Throwable {
     TraceAspect.add("MyAroundAspect-begin");
@@ -0,0 +1,14 @@
+package org.example.myapp.aspect;
+
+import io.avaje.inject.aop.Aspect;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+@Aspect(target = MyAsyncTimedAspect.class)
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface MyAsyncTimed {
+}
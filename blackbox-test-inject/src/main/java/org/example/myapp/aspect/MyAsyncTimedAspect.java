@@ -0,0 +1,35 @@
+package org.example.myapp.aspect;
+
+import io.avaje.inject.aop.AspectProvider;
+import io.avaje.inject.aop.Invocation;
+import io.avaje.inject.aop.MethodDescriptor;
+import io.avaje.inject.aop.MethodInterceptor;
+import jakarta.inject.Singleton;
+
+import java.lang.reflect.Method;
+
+@Singleton
+public class MyAsyncTimedAspect implements AspectProvider<MyAsyncTimed>, MethodInterceptor {
+
+  @Override
+  public MethodInterceptor interceptor(Method method, MyAsyncTimed aspectAnnotation) {
+    return this;
+  }
+
+  @Override
+  public MethodInterceptor interceptor(MethodDescriptor method, Class<MyAsyncTimed> annotationType) {
+    return this;
+  }
+
+  @Override
+  public void invoke(Invocation invocation) throws Throwable {
+    TraceAspect.add("MyAsyncTimedAspect-begin");
+    if (invocation instanceof Invocation.Async) {
+      ((Invocation.Async) invocation).invokeAsync()
+        .whenComplete((result, e) -> TraceAspect.add("MyAsyncTimedAspect-completed " + (e == null ? result : e.getMessage())));
+    } else {
+      invocation.invoke();
+    }
+    TraceAspect.add("MyAsyncTimedAspect-end");
+  }
+}
@@ -2,6 +2,7 @@ package org.example.myapp.aspect;
 
 import io.avaje.inject.aop.AspectProvider;
 import io.avaje.inject.aop.Invocation;
+import io.avaje.inject.aop.MethodDescriptor;
 import io.avaje.inject.aop.MethodInterceptor;
 import jakarta.inject.Singleton;
 
@@ -19,6 +20,11 @@ public class MyMultiInvokeAspect implements AspectProvider<MyMultiInvoke>, Metho
     return this;
   }
 
+  @Override
+  public MethodInterceptor interceptor(MethodDescriptor method, Class<MyMultiInvoke> annotationType) {
+    return this;
+  }
+
   @Override
   public void invoke(Invocation invocation) throws Throwable {
     for (int i = 0; i < 5; i++) {
@@ -2,6 +2,7 @@ package org.example.myapp.aspect;
 
 import io.avaje.inject.aop.AspectProvider;
 import io.avaje.inject.aop.Invocation;
+import io.avaje.inject.aop.MethodDescriptor;
 import io.avaje.inject.aop.MethodInterceptor;
 import jakarta.inject.Singleton;
 
@@ -14,6 +15,12 @@ public class MySkipAspect implements AspectProvider<MySkip>, MethodInterceptor {
   public MethodInterceptor interceptor(Method method, MySkip aspectAnnotation) {
     return this;
   }
+
+  @Override
+  public MethodInterceptor interceptor(MethodDescriptor method, Class<MySkip> annotationType) {
+    return this;
+  }
+
   @Override
   public void invoke(Invocation invocation) throws Throwable {
     // just over-write the result, never invoke underlying method
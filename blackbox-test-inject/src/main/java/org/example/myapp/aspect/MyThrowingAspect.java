@@ -2,6 +2,7 @@ package org.example.myapp.aspect;
 
 import io.avaje.inject.aop.AspectProvider;
 import io.avaje.inject.aop.Invocation;
+import io.avaje.inject.aop.MethodDescriptor;
 import io.avaje.inject.aop.MethodInterceptor;
 import jakarta.inject.Singleton;
 
@@ -17,6 +18,11 @@ public class MyThrowingAspect implements AspectProvider<MyThrowing>, MethodInter
     return this;
   }
 
+  @Override
+  public MethodInterceptor interceptor(MethodDescriptor method, Class<MyThrowing> annotationType) {
+    return this;
+  }
+
   @Override
   public void invoke(Invocation invoke) throws Throwable {
     throw new ArithmeticException("my interceptor throws this");
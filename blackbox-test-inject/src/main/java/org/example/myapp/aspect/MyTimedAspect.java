@@ -2,6 +2,7 @@ package org.example.myapp.aspect;
 
 import io.avaje.inject.aop.AspectProvider;
 import io.avaje.inject.aop.Invocation;
+import io.avaje.inject.aop.MethodDescriptor;
 import io.avaje.inject.aop.MethodInterceptor;
 import jakarta.inject.Singleton;
 
@@ -15,6 +16,11 @@ public class MyTimedAspect implements AspectProvider<MyTimed>, MethodInterceptor
     return this;
   }
 
+  @Override
+  public MethodInterceptor interceptor(MethodDescriptor method, Class<MyTimed> annotationType) {
+    return this;
+  }
+
   @Override
   public void invoke(Invocation invocation) throws Throwable {
     TraceAspect.add("MyTimedAspect-begin");
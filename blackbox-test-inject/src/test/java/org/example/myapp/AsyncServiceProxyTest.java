@@ -0,0 +1,55 @@
+package org.example.myapp;
+
+import io.avaje.inject.BeanScope;
+import org.example.myapp.aspect.TraceAspect;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AsyncServiceProxyTest {
+
+  @Test
+  void completionStage_interceptorAttachesToCompletion() {
+    try (BeanScope beanScope = BeanScope.builder().build()) {
+      AsyncService asyncService = beanScope.get(AsyncService.class);
+
+      TraceAspect.clear();
+      CompletionStage<String> stage = asyncService.stage("foo");
+      assertThat(TraceAspect.obtain()).containsExactly("MyAsyncTimedAspect-begin", "MyAsyncTimedAspect-end");
+
+      asyncService.future.complete("done");
+      assertThat(stage.toCompletableFuture().join()).isEqualTo("done foo");
+      assertThat(TraceAspect.obtain()).containsExactly("MyAsyncTimedAspect-completed done foo");
+    }
+  }
+
+  @SuppressWarnings("rawtypes")
+  @Test
+  void rawCompletableFuture_interceptorAttachesToCompletion() {
+    try (BeanScope beanScope = BeanScope.builder().build()) {
+      AsyncService asyncService = beanScope.get(AsyncService.class);
+
+      TraceAspect.clear();
+      CompletableFuture future = asyncService.raw();
+      assertThat(TraceAspect.obtain()).containsExactly("MyAsyncTimedAspect-begin", "MyAsyncTimedAspect-end");
+
+      asyncService.future.completeExceptionally(new IllegalStateException("failed"));
+      assertThat(future).isCompletedExceptionally();
+      assertThat(TraceAspect.obtain()).containsExactly("MyAsyncTimedAspect-completed failed");
+    }
+  }
+
+  @Test
+  void notAsync_invoked() {
+    try (BeanScope beanScope = BeanScope.builder().build()) {
+      AsyncService asyncService = beanScope.get(AsyncService.class);
+
+      TraceAspect.clear();
+      assertThat(asyncService.sync()).isEqualTo("sync");
+      assertThat(TraceAspect.obtain()).containsExactly("MyAsyncTimedAspect-begin", "MyAsyncTimedAspect-end");
+    }
+  }
+}
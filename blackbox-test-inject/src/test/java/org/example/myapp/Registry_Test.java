@@ -0,0 +1,50 @@
+package org.example.myapp;
+
+import io.avaje.inject.BeanScope;
+import io.avaje.inject.spi.Module;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class Registry_Test {
+
+  @Test
+  void registry_listsTheServiceLoadedModules() throws IOException {
+    // generated by the registry goal of avaje-inject-maven-plugin
+    List<String> modules = new ArrayList<>();
+    List<String> order = new ArrayList<>();
+    try (InputStream is = getClass().getClassLoader().getResourceAsStream("META-INF/avaje-inject-registry")) {
+      assertThat(is).isNotNull();
+      BufferedReader reader = new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8));
+      String line;
+      while ((line = reader.readLine()) != null) {
+        if (line.startsWith("module ")) {
+          modules.add(line.substring(7));
+        } else if (line.startsWith("order ")) {
+          order.add(line.substring(6));
+        }
+      }
+    }
+    List<String> serviceLoaded = ServiceLoader.load(Module.class).stream()
+      .map(provider -> provider.type().getName())
+      .collect(Collectors.toList());
+
+    assertThat(modules).containsExactlyInAnyOrderElementsOf(serviceLoaded);
+    assertThat(order).hasSize(1);
+
+    // built using the precomputed order
+    try (BeanScope scope = BeanScope.builder().build()) {
+      assertThat(scope.get(HelloService.class)).isNotNull();
+    }
+  }
+}
@@ -1,7 +1,16 @@
 package io.avaje.inject.generator;
 
+import io.avaje.inject.spi.Builder;
+
 import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
 import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeKind;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
 
 final class AnnotationUtil {
 
@@ -14,6 +23,47 @@ final class AnnotationUtil {
     return false;
   }
 
+  /**
+   * The priority annotations whose values are captured (a compile time constant of the runtime).
+   */
+  private static final Set<String> PRIORITY_ANNOTATIONS = Set.of(Builder.PRIORITY_ANNOTATIONS.split(","));
+
+  /**
+   * Return the priority annotation values keyed by annotation type. These are used to
+   * order listByPriority() without reflection.
+   */
+  static Map<String, Integer> priorities(Element element) {
+    Map<String, Integer> priorities = new LinkedHashMap<>();
+    for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+      TypeElement annotationType = (TypeElement) mirror.getAnnotationType().asElement();
+      String name = annotationType.getQualifiedName().toString();
+      if (PRIORITY_ANNOTATIONS.contains(name)) {
+        Integer value = intValue(mirror, annotationType);
+        if (value != null) {
+          priorities.put(name, value);
+        }
+      }
+    }
+    return priorities;
+  }
+
+  private static Integer intValue(AnnotationMirror mirror, TypeElement annotationType) {
+    for (Element member : annotationType.getEnclosedElements()) {
+      if (member instanceof ExecutableElement && "value".equals(shortName(member))) {
+        ExecutableElement method = (ExecutableElement) member;
+        if (method.getReturnType().getKind() != TypeKind.INT) {
+          return null;
+        }
+        AnnotationValue value = mirror.getElementValues().get(method);
+        if (value == null) {
+          value = method.getDefaultValue();
+        }
+        return value == null ? null : (Integer) value.getValue();
+      }
+    }
+    return null;
+  }
+
   /**
    * Return the short name of the element.
    */
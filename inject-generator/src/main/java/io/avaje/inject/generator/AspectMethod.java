@@ -8,6 +8,8 @@ import java.util.*;
 
 final class AspectMethod {
 
+  private static final Set<String> ASYNC_TYPES = Set.of("java.util.concurrent.CompletionStage", "java.util.concurrent.CompletableFuture");
+
   private final List<AspectPair> aspectPairs;
   private final ExecutableElement method;
   private final List<MethodReader.MethodParam> params;
@@ -49,6 +51,14 @@ final class AspectMethod {
     return rawReturn.equals("void");
   }
 
+  /**
+   * Return true if the method returns a CompletionStage or CompletableFuture.
+   */
+  boolean isAsync() {
+    int pos = rawReturn.indexOf('<');
+    return ASYNC_TYPES.contains(pos > 0 ? rawReturn.substring(0, pos) : rawReturn);
+  }
+
   void addImports(ImportTypeMap importTypes) {
     for (AspectPair aspect : aspectPairs) {
       aspect.addImports(importTypes);
@@ -61,7 +71,7 @@ final class AspectMethod {
     }
   }
 
-  void writeMethod(Append writer) {
+  void writeMethod(Append writer, String proxyName) {
     writer.eol().append("  @Override").eol();
     writer.append("  public %s %s(", rawReturn, simpleName);
     for (int i = 0, size = params.size(); i < size; i++) {
@@ -75,12 +85,90 @@ final class AspectMethod {
 
     writer.append(" {").eol();
 
-    String type = isVoid() ? "Run" : "Call<>";
-    writer.append("    var call = new Invocation.%s(() ->", type);
-    invokeSuper(writer, simpleName);
+    writer.append("    if (%sChain.isEmpty()) {", localName).eol();
+    writer.append(isVoid() ? "     " : "      return");
+    writer.append(" super.%s(", simpleName);
+    writeParamNames(writer);
+    writer.append(");").eol();
+    if (isVoid()) {
+      writer.append("      return;").eol();
+    }
+    writer.append("    }").eol();
+    writer.append("    var call = new %s(", invocationName());
+    writeParamNames(writer);
     writer.append(")").eol();
     writeArgs(writer);
     writer.append("  }").eol();
+    writeInvocation(writer, proxyName);
+  }
+
+  private String invocationName() {
+    return Character.toUpperCase(localName.charAt(0)) + localName.substring(1) + "Invocation";
+  }
+
+  /**
+   * Write the invocation for this method that calls the super method directly.
+   */
+  private void writeInvocation(Append writer, String proxyName) {
+    String resultType = isVoid() ? "Void" : boxedType(rawReturn);
+    if (isAsync() && rawReturn.indexOf('<') == -1) {
+      // raw CompletionStage or CompletableFuture
+      resultType += "<?>";
+    }
+    writer.eol();
+    String superType = isAsync() ? "AsyncSuper" : "Super";
+    writer.append("  private final class %s extends Invocation.%s<%s> {", invocationName(), superType, resultType).eol().eol();
+    if (!params.isEmpty()) {
+      writeInvocationConstructor(writer);
+    }
+    writer.append("    @Override").eol();
+    writer.append("    protected %s invokeSuper() throws Throwable {", resultType).eol();
+    if (isVoid()) {
+      writer.append("     ");
+      invokeSuper(writer, proxyName);
+      writer.append(";").eol();
+      writer.append("      return null;").eol();
+    } else {
+      writer.append("      return");
+      invokeSuper(writer, proxyName);
+      writer.append(";").eol();
+    }
+    writer.append("    }").eol();
+    writer.append("  }").eol();
+  }
+
+  private void writeInvocationConstructor(Append writer) {
+    for (MethodParam param : params) {
+      writer.append("    private final ");
+      param.writeMethodParamAspect(writer);
+      writer.append(";").eol();
+    }
+    writer.eol().append("    %s(", invocationName());
+    for (int i = 0, size = params.size(); i < size; i++) {
+      if (i > 0) {
+        writer.append(", ");
+      }
+      params.get(i).writeMethodParamAspect(writer);
+    }
+    writer.append(") {").eol();
+    for (MethodParam param : params) {
+      writer.append("      this.%s = %s;", param.simpleName(), param.simpleName()).eol();
+    }
+    writer.append("    }").eol().eol();
+  }
+
+  private static String boxedType(String type) {
+    switch (type) {
+      case "boolean": return "Boolean";
+      case "byte": return "Byte";
+      case "char": return "Character";
+      case "short": return "Short";
+      case "int": return "Integer";
+      case "long": return "Long";
+      case "float": return "Float";
+      case "double": return "Double";
+      default: return type;
+    }
   }
 
   private void writeThrowsClause(Append writer) {
@@ -95,39 +183,45 @@ final class AspectMethod {
     }
   }
 
-  private void invokeSuper(Append writer, String simpleName) {
-    writer.append(" super.%s(", simpleName);
+  private void invokeSuper(Append writer, String proxyName) {
+    writer.append(" %s.super.%s(", proxyName, simpleName);
+    writeParamNames(writer);
+    writer.append(")");
+  }
+
+  private void writeParamNames(Append writer) {
     for (int i = 0, size = params.size(); i < size; i++) {
       if (i > 0) {
         writer.append(", ");
       }
       writer.append(params.get(i).simpleName());
     }
-    writer.append(")");
-  }
-
-  void writeSetupFields(Append writer) {
-    writer.append("  private final Method %s;", localName).eol();
-    for (AspectPair aspectPair : aspectPairs) {
-      String sn = aspectPair.annotationShortName();
-      writer.append("  private final MethodInterceptor %s%s;", localName, sn).eol();
-    }
   }
 
-  void writeSetupForMethods(Append writer, String shortName) {
-    writer.append("      %s = %s.class.getDeclaredMethod(\"%s\"", localName, shortName, simpleName);
+  void writeSetupFields(Append writer, String shortName) {
+    writer.append("  private static final MethodDescriptor %s = MethodDescriptor.of(%s.class, \"%s\"", localName, shortName, simpleName);
     for (MethodReader.MethodParam param : params) {
       writer.append(", ");
       param.writeMethodParamTypeAspect(writer);
       writer.append(".class");
     }
     writer.append(");").eol();
-    for (AspectPair aspect : aspectPairs) {
+    writer.append("  private final InterceptorChain %sChain;", localName).eol();
+  }
+
+  void writeSetupForMethods(Append writer) {
+    writer.append("    %sChain = InterceptorChain.of(", localName);
+    // outer-most aspect first based on ordering attribute
+    for (int i = aspectPairs.size() - 1; i >= 0; i--) {
+      AspectPair aspect = aspectPairs.get(i);
       String name = Util.initLower(aspect.annotationShortName());
       String sn = aspect.annotationShortName();
-      writer.append("      %s%s = %s.interceptor(%s, %s.getAnnotation(%s.class));", localName, sn, name, localName, localName, sn).eol();
+      writer.append("%s.interceptor(%s, %s.class)", name, localName, sn);
+      if (i > 0) {
+        writer.append(", ");
+      }
     }
-    writer.eol();
+    writer.append(");").eol();
   }
 
   static String aspectTargetShortName(String target) {
@@ -146,33 +240,9 @@ final class AspectMethod {
         writer.append(params.get(i).simpleName());
       }
     }
-    writer.append(")");
-    int aspectCount = aspectPairs.size();
-    if (aspectCount < 2) {
-      writer.append(";").eol();
-    } else {
-      // nesting all but last aspect
-      writer.eol();
-      writer.append("      // wrapping inner nested aspects based on ordering attribute").eol();
-      int nesting = aspectCount - 1;
-      for (int i = 0; i < nesting; i++) {
-        AspectPair aspect = aspectPairs.get(i);
-        String sn = aspect.annotationShortName();
-        writer.append("      .wrap(%s%s)", localName, sn);
-        if (i < nesting -1) {
-          writer.eol();
-        } else {
-          writer.append(";").eol();
-        }
-      }
-    }
+    writer.append(");").eol();
     writer.append("    try {").eol();
-    if (aspectCount > 1) {
-      writer.append("      // outer-most aspect").eol();
-    }
-    AspectPair outerAspect = aspectPairs.get(aspectCount - 1);
-    String sn = outerAspect.annotationShortName();
-    writer.append("      %s%s.invoke(call);", localName, sn).eol();
+    writer.append("      %sChain.invoke(call);", localName).eol();
 
     if (!isVoid()) {
       writer.append("      return call.finalResult();").eol();
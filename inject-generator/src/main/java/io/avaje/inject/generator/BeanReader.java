@@ -4,11 +4,13 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import javax.lang.model.element.Element;
 import javax.lang.model.element.TypeElement;
 
+import io.avaje.inject.prism.LazyPrism;
 import io.avaje.inject.prism.PrimaryPrism;
 import io.avaje.inject.prism.PrototypePrism;
 import io.avaje.inject.prism.ProxyPrism;
@@ -32,9 +34,11 @@ final class BeanReader {
   private final BeanRequestParams requestParams;
   private final TypeReader typeReader;
   private final boolean prototype;
+  private final boolean lazy;
   private final boolean primary;
   private final boolean secondary;
   private final boolean proxy;
+  private final Map<String, Integer> priorities;
   private final BeanAspects aspects;
   private boolean writtenToFile;
   private boolean suppressBuilderImport;
@@ -47,10 +51,12 @@ final class BeanReader {
     this.shortName = shortName(beanType);
     //this.prototype = (beanType.getAnnotation(Prototype.class) != null);
     this.prototype = (PrototypePrism.getInstanceOn(beanType) != null);
+    this.lazy = !prototype && (LazyPrism.getInstanceOn(beanType) != null);
 
     this.primary = (PrimaryPrism.getInstanceOn(beanType) != null);
     this.secondary = !primary && (SecondaryPrism.getInstanceOn(beanType) != null);
     this.proxy = (ProxyPrism.getInstanceOn(beanType) != null);
+    this.priorities = AnnotationUtil.priorities(beanType);
     this.typeReader = new TypeReader(GenericType.parse(type), beanType, context, importTypes, factory);
     typeReader.process();
     this.requestParams = new BeanRequestParams(type);
@@ -81,6 +87,13 @@ final class BeanReader {
     return prototype;
   }
 
+  /**
+   * Return true if the bean is registered via a Provider (prototype or lazy singleton).
+   */
+  boolean registerProvider() {
+    return prototype || lazy;
+  }
+
   BeanReader read() {
     if (constructor != null) {
       constructor.addImports(importTypes);
@@ -211,7 +224,7 @@ final class BeanReader {
   }
 
   void buildRegister(Append writer) {
-    if (prototype) {
+    if (registerProvider()) {
       return;
     }
     writer.append("      ");
@@ -224,10 +237,40 @@ final class BeanReader {
     } else if (secondary) {
       writer.append("asSecondary().");
     }
+    buildPriorities(writer);
     writer.append("register(bean);").eol();
   }
 
+  /**
+   * Register the provider for a prototype or lazy bean.
+   */
+  void buildRegisterProvider(Append writer) {
+    writer.append("      builder.");
+    if (prototype) {
+      writer.append("asPrototype().");
+    } else if (primary) {
+      writer.append("asPrimary().");
+    } else if (secondary) {
+      writer.append("asSecondary().");
+    }
+    buildPriorities(writer);
+    writer.append("registerProvider(() -> {").eol();
+  }
+
+  /**
+   * Add the priority annotation values such that listByPriority() does not use reflection.
+   */
+  void buildPriorities(Append writer) {
+    for (Map.Entry<String, Integer> entry : priorities.entrySet()) {
+      writer.append("withPriority(%s.class, %s).", entry.getKey(), entry.getValue());
+    }
+  }
+
   void addLifecycleCallbacks(Append writer, String indent) {
+    if (lazy) {
+      // invoked when the lazy bean is created, see providerLifecycle()
+      return;
+    }
     if (postConstructMethod != null && !prototype) {
       writer.append("%s builder.addPostConstruct($bean::%s);", indent, postConstructMethod.getSimpleName()).eol();
     }
@@ -239,10 +282,20 @@ final class BeanReader {
     }
   }
 
-  void prototypePostConstruct(Append writer, String indent) {
+  /**
+   * Lifecycle callbacks invoked by the provider of a prototype or lazy bean.
+   */
+  void providerLifecycle(Append writer, String indent) {
     if (postConstructMethod != null) {
       writer.append("%s bean.%s();", indent, postConstructMethod.getSimpleName()).eol();
     }
+    if (lazy) {
+      if (preDestroyMethod != null) {
+        writer.append("%s builder.addPreDestroy(bean::%s, bean);", indent, preDestroyMethod.getSimpleName()).eol();
+      } else if (typeReader.isClosable()) {
+        writer.append("%s builder.addPreDestroy(bean::close, bean);", indent).eol();
+      }
+    }
   }
 
   private void prototypeNotSupported(Append writer, String lifecycle) {
@@ -258,6 +311,9 @@ final class BeanReader {
     typeReader.extraImports(importTypes);
     requestParams.addImports(importTypes);
     aspects.extraImports(importTypes);
+    if (registerProvider()) {
+      importTypes.add(Constants.PROVIDER);
+    }
 
     for (MethodReader factoryMethod : factoryMethods) {
       Set<GenericType> genericTypes = factoryMethod.genericTypes();
@@ -31,12 +31,12 @@ final class Constants {
   static final String INJECTMODULE = "io.avaje.inject.InjectModule";
   static final String TESTSCOPE = "io.avaje.inject.test.TestScope";
 
-  static final String REFLECT_METHOD = "java.lang.reflect.Method";
   static final String ASPECT = "io.avaje.inject.aop.Aspect";
   static final String ASPECT_PROVIDER = "io.avaje.inject.aop.AspectProvider";
+  static final String INTERCEPTOR_CHAIN = "io.avaje.inject.aop.InterceptorChain";
   static final String INVOCATION = "io.avaje.inject.aop.Invocation";
   static final String INVOCATION_EXCEPTION = "io.avaje.inject.aop.InvocationException";
-  static final String METHOD_INTERCEPTOR = "io.avaje.inject.aop.MethodInterceptor";
+  static final String METHOD_DESCRIPTOR = "io.avaje.inject.aop.MethodDescriptor";
   static final String PROXY = "io.avaje.inject.spi.Proxy";
 
   static final String GENERATED = "io.avaje.inject.spi.Generated";
@@ -10,15 +10,18 @@ final class FieldReader {
   private final String name;
   private final UtilType utype;
   private final boolean nullable;
+  private final boolean declaredType;
   private final String fieldType;
   private final GenericType type;
   private boolean requestParam;
   private String requestParamName;
+  private String resolvedName;
 
   FieldReader(Element element) {
     this.element = element;
     this.name = Util.getNamed(element);
     this.nullable = Util.isNullable(element);
+    this.declaredType = Util.isDeclaredDependency(element.asType());
     this.utype = Util.determineType(element.asType());
     this.fieldType = Util.unwrapProvider(utype.rawType());
     this.type = GenericType.parse(utype.rawType());
@@ -43,8 +46,34 @@ final class FieldReader {
   }
 
   String builderGetDependency(String builder) {
+    if (resolvedName != null) {
+      return utype.isProvider() ? resolvedName : resolvedName + ".get()";
+    }
+    return builderGetDependency(builder, utype.getMethod(nullable));
+  }
+
+  /**
+   * For prototype scope resolve the dependency once into a local Provider.
+   */
+  void builderResolveDependency(Append writer, String builder, Set<String> localNames) {
+    if (nullable || !utype.isResolvable() || !declaredType) {
+      return;
+    }
+    resolvedName = Util.localName(localNames, fieldName());
+    writer.append("      ");
+    if (utype.isProvider()) {
+      type.writeShort(writer);
+      writer.append(" %s = %s;", resolvedName, builderGetDependency(builder, utype.getMethod(false))).eol();
+    } else {
+      writer.append("Provider<");
+      type.writeShort(writer);
+      writer.append("> %s = %s;", resolvedName, builderGetDependency(builder, "getProvider(")).eol();
+    }
+  }
+
+  private String builderGetDependency(String builder, String method) {
     StringBuilder sb = new StringBuilder();
-    sb.append(builder).append(".").append(utype.getMethod(nullable));
+    sb.append(builder).append(".").append(method);
     if (isGenericParam()) {
       sb.append("TYPE_").append(type.shortName());
     } else {
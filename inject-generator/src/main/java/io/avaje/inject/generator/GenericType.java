@@ -129,6 +129,42 @@ final class GenericType {
     }
   }
 
+  /**
+   * Append the runtime Type of this generic type using fully qualified types, like
+   * {@code GenericType.of(java.util.List.class, java.lang.String.class)}.
+   */
+  void writeType(Append writer) {
+    String type = topType();
+    if ("?".equals(type)) {
+      writer.append("GenericType.wildcard()");
+    } else if (type.startsWith("? extends ")) {
+      writeWildcard(writer, "wildcardExtends", type.substring(10));
+    } else if (type.startsWith("? super ")) {
+      writeWildcard(writer, "wildcardSuper", type.substring(8));
+    } else {
+      writeType(writer, type);
+    }
+  }
+
+  private void writeWildcard(Append writer, String method, String bound) {
+    writer.append("GenericType.%s(", method);
+    writeType(writer, bound);
+    writer.append(")");
+  }
+
+  private void writeType(Append writer, String type) {
+    if (params.isEmpty()) {
+      writer.append("%s.class", type);
+      return;
+    }
+    writer.append("GenericType.of(%s.class", type);
+    for (GenericType param : params) {
+      writer.append(", ");
+      param.writeType(writer);
+    }
+    writer.append(")");
+  }
+
   String shortName() {
     StringBuilder sb = new StringBuilder();
     shortName(sb);
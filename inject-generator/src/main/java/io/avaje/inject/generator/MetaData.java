@@ -196,6 +196,18 @@ final class MetaData {
     append.eol();
   }
 
+  /**
+   * Return the method reference that builds this bean (used for the parallel build levels).
+   */
+  String buildRef() {
+    if (hasMethod()) {
+      final String shortMethod = Util.shortMethod(method);
+      final int pos = shortMethod.lastIndexOf('.');
+      return shortMethod.substring(0, pos) + "::" + shortMethod.substring(pos + 1);
+    }
+    return shortType + Constants.DI + "::build";
+  }
+
   private boolean hasMethod() {
     return method != null && !method.isEmpty();
   }
@@ -226,6 +226,41 @@ final class MetaDataOrdering {
     return orderedList;
   }
 
+  /**
+   * Return the ordered beans grouped by dependency level.
+   * <p>
+   * The beans of a level only depend on beans of earlier levels (or beans provided
+   * externally) such that the beans of a level can be built concurrently. Provider
+   * dependencies are ignored as they are only resolved at the end of the build.
+   * Returns null when a dependency is not ordered before the bean that uses it.
+   */
+  List<List<MetaData>> levels() {
+    final Map<MetaData, Integer> levelOf = new IdentityHashMap<>();
+    final List<List<MetaData>> levels = new ArrayList<>();
+    for (MetaData metaData : orderedList) {
+      int level = 0;
+      for (Dependency dependency : metaData.dependsOn()) {
+        final String dependencyName = dependency.name();
+        final ProviderList providerList = Util.isProvider(dependencyName) ? null : providers.get(dependencyName);
+        if (providerList != null) {
+          for (MetaData provider : providerList.list) {
+            final Integer providerLevel = levelOf.get(provider);
+            if (providerLevel == null) {
+              return null;
+            }
+            level = Math.max(level, providerLevel + 1);
+          }
+        }
+      }
+      levelOf.put(metaData, level);
+      if (level == levels.size()) {
+        levels.add(new ArrayList<>());
+      }
+      levels.get(level).add(metaData);
+    }
+    return levels;
+  }
+
   Set<String> importTypes() {
     Set<String> importTypes = new TreeSet<>();
     for (MetaData metaData : orderedList) {
@@ -2,6 +2,7 @@ package io.avaje.inject.generator;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
@@ -12,6 +13,7 @@ import javax.lang.model.element.VariableElement;
 import javax.lang.model.type.TypeMirror;
 
 import io.avaje.inject.prism.BeanPrism;
+import io.avaje.inject.prism.LazyPrism;
 import io.avaje.inject.prism.PrimaryPrism;
 import io.avaje.inject.prism.PrototypePrism;
 import io.avaje.inject.prism.SecondaryPrism;
@@ -24,6 +26,7 @@ final class MethodReader {
   private final String factoryType;
   private final String methodName;
   private final boolean prototype;
+  private final boolean lazy;
   private final boolean primary;
   private final boolean secondary;
   private final String returnTypeRaw;
@@ -48,10 +51,12 @@ final class MethodReader {
     this.element = element;
     if (isFactory) {
       prototype = PrototypePrism.getInstanceOn(element) != null;
+      lazy = !prototype && LazyPrism.getInstanceOn(element) != null;
       primary = PrimaryPrism.getInstanceOn(element) != null;
       secondary = SecondaryPrism.getInstanceOn(element) != null;
     } else {
       prototype = false;
+      lazy = false;
       primary = false;
       secondary = false;
     }
@@ -166,21 +171,33 @@ final class MethodReader {
   }
 
   void builderAddBeanProvider(Append writer) {
+    final String scope = prototype ? "@Prototype" : lazy ? "@Lazy" : "@Secondary";
     if (isVoid) {
-      writer.append("Error - void @Prototype method ?").eol();
+      writer.append("Error - void %s method ?", scope).eol();
       return;
     }
     if (optionalType) {
-      writer.append("Error - Optional type with @Prototype method is not supported").eol();
+      writer.append("Error - Optional type with %s method is not supported", scope).eol();
       return;
     }
     String indent = "    ";
     if (prototype) {
+      builderResolveDependencies(writer, new HashSet<>());
       writer.append(indent).append("  builder.asPrototype().registerProvider(() -> {").eol();
+    } else if (lazy) {
+      builderResolveDependencies(writer, new HashSet<>());
+      writer.append(indent).append("  builder.");
+      if (primary) {
+        writer.append("asPrimary().");
+      } else if (secondary) {
+        writer.append("asSecondary().");
+      }
+      writer.append("registerProvider(() -> {").eol();
     } else {
       writer.append(indent).append("  builder.asSecondary().registerProvider(() -> {").eol();
     }
-    writer.append("%s    return ", indent);
+    final boolean lazyLifecycle = lazy && hasLifecycleMethods();
+    writer.append("%s    %s", indent, lazyLifecycle ? "var bean = " : "return ");
     writer.append(String.format("factory.%s(", methodName));
     for (int i = 0; i < params.size(); i++) {
       if (i > 0) {
@@ -189,10 +206,31 @@ final class MethodReader {
       params.get(i).builderGetDependency(writer, "builder", true);
     }
     writer.append(");").eol();
+    if (lazyLifecycle) {
+      // invoked when the lazy bean is created
+      if (notEmpty(initMethod)) {
+        writer.append("%s    bean.%s();", indent, initMethod).eol();
+      }
+      if (notEmpty(destroyMethod)) {
+        writer.append("%s    builder.addPreDestroy(bean::%s);", indent, destroyMethod).eol();
+      } else if (typeReader != null && typeReader.isClosable()) {
+        writer.append("%s    builder.addPreDestroy(bean::close);", indent).eol();
+      }
+      writer.append("%s    return bean;", indent).eol();
+    }
     writer.append(indent).append("  });").eol();
     writer.append(indent).append("}").eol();
   }
 
+  /**
+   * Resolve the dependencies once for use by a prototype or lazy provider.
+   */
+  void builderResolveDependencies(Append writer, Set<String> localNames) {
+    for (MethodParam param : params) {
+      param.builderResolveDependency(writer, "builder", localNames);
+    }
+  }
+
   void builderBuildAddBean(Append writer) {
     if (!isVoid) {
       String indent = optionalType ? "        " : "      ";
@@ -238,6 +276,9 @@ final class MethodReader {
       param.addImports(importTypes);
     }
     // TYPE_ generic types are fully qualified
+    if (prototype || lazy) {
+      importTypes.add(Constants.PROVIDER);
+    }
     if (optionalType) {
       importTypes.add(Constants.OPTIONAL);
     }
@@ -297,6 +338,10 @@ final class MethodReader {
     return prototype;
   }
 
+  boolean isLazy() {
+    return lazy;
+  }
+
   boolean isUseProviderForSecondary() {
     return secondary && !optionalType;
   }
@@ -339,14 +384,17 @@ final class MethodReader {
     private final GenericType genericType;
     private final GenericType fullGenericType;
     private final boolean nullable;
+    private final boolean declaredType;
     private final String simpleName;
     private boolean requestParam;
     private String requestParamName;
+    private String resolvedName;
 
     MethodParam(VariableElement param) {
       this.simpleName = param.getSimpleName().toString();
       this.named = Util.getNamed(param);
       this.nullable = Util.isNullable(param);
+      this.declaredType = Util.isDeclaredDependency(param.asType());
       this.utilType = Util.determineType(param.asType());
       this.paramType = utilType.rawType();
       this.genericType = GenericType.parse(paramType);
@@ -365,7 +413,42 @@ final class MethodReader {
     }
 
     void builderGetDependency(Append writer, String builderName, boolean forFactory) {
-      writer.append(builderName).append(".").append(utilType.getMethod(nullable));
+      if (resolvedName != null) {
+        writer.append(resolvedName).append(utilType.isProvider() ? "" : ".get()");
+        return;
+      }
+      builderGetDependency(writer, builderName, utilType.getMethod(nullable));
+    }
+
+    /**
+     * For prototype scope resolve the dependency once into a local Provider that is
+     * then used by builderGetDependency() in the provider lambda.
+     */
+    void builderResolveDependency(Append writer, String builderName, Set<String> localNames) {
+      if (nullable || !utilType.isResolvable() || !declaredType) {
+        return;
+      }
+      resolvedName = Util.localName(localNames, simpleName);
+      writer.append("      ");
+      if (utilType.isProvider()) {
+        fullGenericType.writeShort(writer);
+        writer.append(" %s = ", resolvedName);
+        builderGetDependency(writer, builderName, utilType.getMethod(false));
+      } else {
+        writer.append("Provider<");
+        if (fullGenericType.isGenericType()) {
+          fullGenericType.writeShort(writer);
+        } else {
+          writer.append(Util.shortName(fullGenericType.topType()));
+        }
+        writer.append("> %s = ", resolvedName);
+        builderGetDependency(writer, builderName, "getProvider(");
+      }
+      writer.append(";").eol();
+    }
+
+    private void builderGetDependency(Append writer, String builderName, String method) {
+      writer.append(builderName).append(".").append(method);
       if (!genericType.isGenericType()) {
         writer.append(Util.shortName(genericType.topType())).append(".class");
       } else if (isProvider()) {
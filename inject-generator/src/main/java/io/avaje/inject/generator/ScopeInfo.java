@@ -62,6 +62,7 @@ final class ScopeInfo {
   private JavaFileObject moduleFile;
   private boolean emptyModule;
   private boolean ignoreSingleton;
+  private boolean parallel;
 
   /**
    * Create for the main/global module scope.
@@ -99,6 +100,13 @@ final class ScopeInfo {
     return !ignoreSingleton;
   }
 
+  /**
+   * Return true if the module supports building its beans in parallel.
+   */
+  boolean parallel() {
+    return parallel;
+  }
+
   void details(String name, Element contextElement) {
     if (name == null || name.isEmpty()) {
       final String simpleName = contextElement.getSimpleName().toString();
@@ -111,6 +119,7 @@ final class ScopeInfo {
 
   private void read(Element element) {
     ignoreSingleton = ScopeUtil.readIgnoreSingleton(element);
+    parallel = ScopeUtil.readParallel(element);
     requires(ScopeUtil.readRequires(element));
     provides(ScopeUtil.readProvides(element));
     for (String require : ScopeUtil.readRequiresPackages(element)) {
@@ -352,6 +361,13 @@ final class ScopeInfo {
         writer.append(", ");
       }
       writer.append("customScopeType=\"%s\"", annotationType.getQualifiedName().toString());
+      leadingComma = true;
+    }
+    if (parallel) {
+      if (leadingComma) {
+        writer.append(", ");
+      }
+      writer.append("parallel=true");
     }
     writer.append(")").eol();
   }
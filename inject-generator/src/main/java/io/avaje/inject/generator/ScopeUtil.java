@@ -11,13 +11,21 @@ final class ScopeUtil {
   private static final String INJECT_MODULE = "io.avaje.inject.InjectModule";
 
   static boolean readIgnoreSingleton(Element element) {
+    return readBoolean(element, "ignoreSingleton(");
+  }
+
+  static boolean readParallel(Element element) {
+    return readBoolean(element, "parallel(");
+  }
+
+  static boolean readBoolean(Element element, String attributeName) {
     if (element == null) {
       return false;
     }
     for (AnnotationMirror annotationMirror : element.getAnnotationMirrors()) {
       if (INJECT_MODULE.equals(annotationMirror.getAnnotationType().toString())) {
         for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : annotationMirror.getElementValues().entrySet()) {
-          if (entry.getKey().toString().startsWith("ignoreSingleton(")) {
+          if (entry.getKey().toString().startsWith(attributeName)) {
             Object value = entry.getValue().getValue();
             return "true".equalsIgnoreCase(value.toString());
           }
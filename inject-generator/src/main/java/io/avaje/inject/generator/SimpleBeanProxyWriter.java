@@ -42,13 +42,13 @@ final class SimpleBeanProxyWriter {
 
   private void writeMethods() {
     for (AspectMethod method : aspects.methods()) {
-      method.writeMethod(writer);
+      method.writeMethod(writer, shortName + suffix);
     }
   }
 
   private void writeFields() {
     for (AspectMethod method : aspects.methods()) {
-      method.writeSetupFields(writer);
+      method.writeSetupFields(writer, shortName);
     }
     writer.eol();
   }
@@ -72,13 +72,9 @@ final class SimpleBeanProxyWriter {
   }
 
   private void writeSetupForMethods() {
-    writer.append("    try {").eol();
     for (AspectMethod method : aspects.methods()) {
-      method.writeSetupForMethods(writer, shortName);
+      method.writeSetupForMethods(writer);
     }
-    writer.append("    } catch (Exception e) {").eol();
-    writer.append("      throw new IllegalStateException(e);").eol();
-    writer.append("    }").eol();
   }
 
   private void writePackage() {
@@ -88,10 +84,10 @@ final class SimpleBeanProxyWriter {
   }
 
   private void writeImports() {
-    writer.append("import %s;", Constants.REFLECT_METHOD).eol();
+    writer.append("import %s;", Constants.INTERCEPTOR_CHAIN).eol();
     writer.append("import %s;", Constants.INVOCATION).eol();
     writer.append("import %s;", Constants.INVOCATION_EXCEPTION).eol();
-    writer.append("import %s;", Constants.METHOD_INTERCEPTOR).eol();
+    writer.append("import %s;", Constants.METHOD_DESCRIPTOR).eol();
     writer.append("import %s;", Constants.PROXY).eol();
     beanReader.writeImports(writer);
   }
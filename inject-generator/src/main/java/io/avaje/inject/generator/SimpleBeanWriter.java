@@ -4,6 +4,7 @@ import javax.lang.model.element.TypeElement;
 import javax.tools.JavaFileObject;
 import java.io.IOException;
 import java.io.Writer;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
@@ -72,10 +73,10 @@ final class SimpleBeanWriter {
     Set<GenericType> genericTypes = beanReader.allGenericTypes();
     if (!genericTypes.isEmpty()) {
       for (GenericType type : genericTypes) {
-        writer.append("  public static final Type TYPE_%s = new GenericType<", type.shortName());
+        writer.append("  public static final Type TYPE_%s = ", type.shortName());
         // use fully qualified types here rather than use type.writeShort(writer)
-        writer.append(type.toString());
-        writer.append(">(){}.type();").eol();
+        type.writeType(writer);
+        writer.append(";").eol();
       }
       writer.eol();
     }
@@ -100,7 +101,7 @@ final class SimpleBeanWriter {
     writer.append("  public static void build_%s(%s builder) {", method.name(), beanReader.builderType()).eol();
     method.buildAddFor(writer);
     writer.append(method.builderGetFactory()).eol();
-    if (method.isProtoType()) {
+    if (method.isProtoType() || method.isLazy()) {
       method.builderAddBeanProvider(writer);
     } else if (method.isUseProviderForSecondary()) {
       method.builderAddBeanProvider(writer);
@@ -129,9 +130,10 @@ final class SimpleBeanWriter {
 
   private void writeAddFor(MethodReader constructor) {
     beanReader.buildAddFor(writer);
-    if (beanReader.prototype()) {
+    if (beanReader.registerProvider()) {
       indent += "  ";
-      writer.append("      builder.asPrototype().registerProvider(() -> {", shortName, shortName).eol();
+      writeResolveDependencies(constructor);
+      beanReader.buildRegisterProvider(writer);
     }
     writeCreateBean(constructor);
     beanReader.buildRegister(writer);
@@ -139,16 +141,31 @@ final class SimpleBeanWriter {
     if (beanReader.isExtraInjectionRequired()) {
       writeExtraInjection();
     }
-    if (beanReader.prototype()) {
-      beanReader.prototypePostConstruct(writer, indent);
+    if (beanReader.registerProvider()) {
+      beanReader.providerLifecycle(writer, indent);
       writer.append("        return bean;").eol();
       writer.append("      });", shortName, shortName).eol();
     }
     writer.append("    }").eol();
   }
 
+  /**
+   * Resolve the dependencies of the prototype or lazy bean when it is registered
+   * rather than when it is created (on each Provider.get() for prototype).
+   */
+  private void writeResolveDependencies(MethodReader constructor) {
+    Set<String> localNames = new HashSet<>();
+    constructor.builderResolveDependencies(writer, localNames);
+    for (FieldReader fieldReader : beanReader.injectFields()) {
+      fieldReader.builderResolveDependency(writer, "builder", localNames);
+    }
+    for (MethodReader methodReader : beanReader.injectMethods()) {
+      methodReader.builderResolveDependencies(writer, localNames);
+    }
+  }
+
   private void writeBuildMethodStart() {
-    if (beanReader.prototype()) {
+    if (beanReader.registerProvider()) {
       writer.append(CODE_COMMENT_BUILD_PROVIDER, shortName).eol();
     } else {
       writer.append(CODE_COMMENT_BUILD, shortName).eol();
@@ -164,20 +181,20 @@ final class SimpleBeanWriter {
   }
 
   private void writeExtraInjection() {
-    if (!beanReader.prototype()) {
+    if (!beanReader.registerProvider()) {
       writer.append("      builder.addInjector(b -> {").eol();
       writer.append("        // field and method injection").eol();
     }
     injectFields();
     injectMethods();
-    if (!beanReader.prototype()) {
+    if (!beanReader.registerProvider()) {
       writer.append("      });").eol();
     }
   }
 
   private void injectFields() {
-    String bean = beanReader.prototype() ? "bean" : "$bean";
-    String builder = beanReader.prototype() ? "builder" : "b";
+    String bean = beanReader.registerProvider() ? "bean" : "$bean";
+    String builder = beanReader.registerProvider() ? "builder" : "b";
     for (FieldReader fieldReader : beanReader.injectFields()) {
       String fieldName = fieldReader.fieldName();
       String getDependency = fieldReader.builderGetDependency(builder);
@@ -186,8 +203,8 @@ final class SimpleBeanWriter {
   }
 
   private void injectMethods() {
-    String bean = beanReader.prototype() ? "bean" : "$bean";
-    String builder = beanReader.prototype() ? "builder" : "b";
+    String bean = beanReader.registerProvider() ? "bean" : "$bean";
+    String builder = beanReader.registerProvider() ? "builder" : "b";
     for (MethodReader methodReader : beanReader.injectMethods()) {
       writer.append("        %s.%s(", bean, methodReader.name());
       writeMethodParams(builder, methodReader);
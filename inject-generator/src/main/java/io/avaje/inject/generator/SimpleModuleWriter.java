@@ -6,6 +6,7 @@ import javax.tools.FileObject;
 import java.io.IOException;
 import java.io.Writer;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
@@ -43,6 +44,13 @@ final class SimpleModuleWriter {
       "   * field injection, method injection and lifecycle support.\n" +
       "   */";
 
+  private static final String CODE_COMMENT_BUILD_LEVELS =
+    "  /**\n" +
+      "   * Return the beans grouped by dependency level for parallel building.\n" +
+      "   * <p>\n" +
+      "   * The beans of a level only depend on beans built by earlier levels.\n" +
+      "   */";
+
   private final ProcessingContext context;
   private final String modulePackage;
   private final String shortName;
@@ -68,6 +76,7 @@ final class SimpleModuleWriter {
     writeProvides();
     writeClassesMethod();
     writeBuildMethod();
+    writeBuildLevels();
     writeBuildMethods();
     writeEndClass();
     writer.close();
@@ -169,6 +178,39 @@ final class SimpleModuleWriter {
     writer.eol();
   }
 
+  /**
+   * Write the build steps grouped by dependency level when the module supports parallel building.
+   */
+  private void writeBuildLevels() {
+    if (!scopeInfo.parallel() || scopeInfo.addWithBeans()) {
+      return;
+    }
+    final List<List<MetaData>> levels = ordering.levels();
+    if (levels == null) {
+      context.logWarn("Unable to determine the dependency levels for parallel building of module %s", fullName);
+      return;
+    }
+    writer.append(CODE_COMMENT_BUILD_LEVELS).eol();
+    writer.append("  @Override").eol();
+    writer.append("  public java.util.List<java.util.List<java.util.function.Consumer<Builder>>> buildLevels() {").eol();
+    writer.append("    return java.util.List.of(");
+    for (int i = 0; i < levels.size(); i++) {
+      writer.append(i == 0 ? "" : ",").eol();
+      writer.append("      java.util.List.of(");
+      boolean comma = false;
+      for (MetaData metaData : levels.get(i)) {
+        if (!metaData.isGenerateProxy()) {
+          writer.append(comma ? ", " : "").append(metaData.buildRef());
+          comma = true;
+        }
+      }
+      writer.append(")");
+    }
+    writer.append(");").eol();
+    writer.append("  }").eol();
+    writer.eol();
+  }
+
   private void writeBuildMethods() {
     for (MetaData metaData : ordering.ordered()) {
       metaData.buildMethod(writer);
@@ -3,8 +3,12 @@ package io.avaje.inject.generator;
 import javax.lang.model.element.AnnotationMirror;
 import javax.lang.model.element.Element;
 import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
 import javax.lang.model.type.TypeMirror;
 
+import java.util.List;
+import java.util.Set;
+
 import io.avaje.inject.prism.NamedPrism;
 import io.avaje.inject.prism.QualifierPrism;
 
@@ -108,6 +112,17 @@ final class Util {
     return shortName(type.topType()).toLowerCase();
   }
 
+  /**
+   * Return a unique local variable name (prefixed with $ to not clash with bean and builder).
+   */
+  static String localName(Set<String> localNames, String name) {
+    String localName = "$" + name;
+    for (int i = 2; !localNames.add(localName); i++) {
+      localName = "$" + name + i;
+    }
+    return localName;
+  }
+
   static boolean isOptional(String rawType) {
     return rawType.startsWith(OPTIONAL_PREFIX);
   }
@@ -144,6 +159,21 @@ final class Util {
     return UtilType.of(rawType.toString());
   }
 
+  /**
+   * Return true if the dependency (or the type of the Provider) is a declared type rather
+   * than a type variable, primitive or array such that it can be resolved as a Provider.
+   */
+  static boolean isDeclaredDependency(TypeMirror type) {
+    if (type.getKind() != TypeKind.DECLARED) {
+      return false;
+    }
+    if (isProvider(type.toString())) {
+      List<? extends TypeMirror> typeArguments = ((DeclaredType) type).getTypeArguments();
+      return typeArguments.size() == 1 && typeArguments.get(0).getKind() == TypeKind.DECLARED;
+    }
+    return true;
+  }
+
   static boolean isAspectProvider(String rawType) {
     return rawType.startsWith(ASPECT_PROVIDER_PREFIX);
   }
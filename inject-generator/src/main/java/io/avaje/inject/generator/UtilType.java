@@ -42,6 +42,17 @@ final class UtilType {
     return type == Type.OPTIONAL || type == Type.OTHER;
   }
 
+  /**
+   * Return true if the dependency can be resolved once as a Provider (get() and getProvider()).
+   */
+  boolean isResolvable() {
+    return type == Type.OTHER || type == Type.PROVIDER;
+  }
+
+  boolean isProvider() {
+    return type == Type.PROVIDER;
+  }
+
   boolean isCollection() {
     return type == Type.LIST || type == Type.SET;
   }
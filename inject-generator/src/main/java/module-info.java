@@ -2,6 +2,7 @@ module io.avaje.inject.generator {
 
   requires java.compiler;
   requires io.avaje.inject.prism;
+  requires static io.avaje.inject;
 
   //uses io.avaje.inject.spi.Plugin;
   //uses io.avaje.inject.spi.Module;
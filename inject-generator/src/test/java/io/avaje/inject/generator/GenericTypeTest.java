@@ -220,4 +220,15 @@ class GenericTypeTest {
 
     assertThat(stringWriter.toString()).isEqualTo("Repo<Prov<Haz>,Key<UUID>>");
   }
+
+  @Test
+  void writeType() {
+    GenericType type = GenericType.parse("java.util.Map<java.lang.String,java.util.List<? extends my.Foo>>");
+
+    StringWriter stringWriter = new StringWriter();
+    Append append = new Append(stringWriter);
+    type.writeType(append);
+
+    assertThat(stringWriter.toString()).isEqualTo("GenericType.of(java.util.Map.class, java.lang.String.class, GenericType.of(java.util.List.class, GenericType.wildcardExtends(my.Foo.class)))");
+  }
 }
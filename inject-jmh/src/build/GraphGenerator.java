@@ -0,0 +1,191 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates synthetic bean graphs used by the benchmarks.
+ * <p>
+ * Each graph size gets its own package and custom scope so that the annotation
+ * processor generates one module per graph (e.g. {@code Graph500Module}).
+ * <p>
+ * Usage: {@code java GraphGenerator.java <outputDir> <size,size,...>}
+ */
+public class GraphGenerator {
+
+  private static final String BASE_PACKAGE = "io.avaje.inject.jmh.graph";
+
+  private final Path outputDir;
+
+  GraphGenerator(Path outputDir) {
+    this.outputDir = outputDir;
+  }
+
+  public static void main(String[] args) throws IOException {
+    if (args.length < 2) {
+      throw new IllegalArgumentException("Expecting arguments <outputDir> <size,size,...>");
+    }
+    GraphGenerator generator = new GraphGenerator(Paths.get(args[0]));
+    List<Integer> sizes = new ArrayList<>();
+    for (String size : args[1].split(",")) {
+      sizes.add(Integer.parseInt(size.trim()));
+    }
+    for (int size : sizes) {
+      generator.graph(size);
+    }
+    generator.graphs(sizes);
+  }
+
+  private void graph(int size) throws IOException {
+    final String pkg = BASE_PACKAGE + ".g" + size;
+    final String scope = "Graph" + size + "Scope";
+    write(pkg, scope, "package " + pkg + ";\n\n" +
+      "import jakarta.inject.Scope;\n\n" +
+      "@Scope\n" +
+      "public @interface " + scope + " {\n}\n");
+
+    for (int i = 0; i < size; i++) {
+      bean(pkg, scope, size, i);
+    }
+    service(pkg, scope, "PrimaryGraphService", "io.avaje.inject.Primary", "Primary");
+    service(pkg, scope, "SecondaryGraphService", "io.avaje.inject.Secondary", "Secondary");
+    write(pkg, "ProtoBean", "package " + pkg + ";\n\n" +
+      "import io.avaje.inject.Prototype;\n\n" +
+      "@" + scope + "\n" +
+      "@Prototype\n" +
+      "public class ProtoBean {\n\n" +
+      "  final Bean0 bean0;\n" +
+      "  final GraphServiceHolder holder;\n\n" +
+      "  public ProtoBean(Bean0 bean0, GraphServiceHolder holder) {\n" +
+      "    this.bean0 = bean0;\n" +
+      "    this.holder = holder;\n" +
+      "  }\n" +
+      "}\n");
+    write(pkg, "GraphServiceHolder", "package " + pkg + ";\n\n" +
+      "import " + BASE_PACKAGE + ".GraphService;\n\n" +
+      "@" + scope + "\n" +
+      "public class GraphServiceHolder {\n\n" +
+      "  final GraphService service;\n\n" +
+      "  public GraphServiceHolder(GraphService service) {\n" +
+      "    this.service = service;\n" +
+      "  }\n" +
+      "}\n");
+  }
+
+  /**
+   * Bean i depends on bean i-1 and bean i/2 giving a graph that is both deep and wide.
+   * Every 10th bean is a named GraphHandler with a priority.
+   */
+  private void bean(String pkg, String scope, int size, int i) throws IOException {
+    final List<String> deps = new ArrayList<>();
+    if (i > 0) {
+      deps.add("Bean" + (i - 1));
+    }
+    if (i > 1 && i / 2 != i - 1) {
+      deps.add("Bean" + (i / 2));
+    }
+    final boolean handler = i % 10 == 0;
+    final StringBuilder sb = new StringBuilder(400);
+    sb.append("package ").append(pkg).append(";\n\n");
+    if (handler) {
+      sb.append("import io.avaje.inject.Priority;\n");
+      sb.append("import ").append(BASE_PACKAGE).append(".GraphHandler;\n");
+      sb.append("import jakarta.inject.Named;\n\n");
+      sb.append("@Named(\"h").append(i).append("\")\n");
+      sb.append("@Priority(").append(size - i).append(")\n");
+    }
+    sb.append("@").append(scope).append("\n");
+    sb.append("public class Bean").append(i);
+    if (handler) {
+      sb.append(" implements GraphHandler");
+    }
+    sb.append(" {\n\n");
+    for (int d = 0; d < deps.size(); d++) {
+      sb.append("  final ").append(deps.get(d)).append(" dep").append(d).append(";\n");
+    }
+    sb.append("\n  public Bean").append(i).append("(");
+    for (int d = 0; d < deps.size(); d++) {
+      if (d > 0) {
+        sb.append(", ");
+      }
+      sb.append(deps.get(d)).append(" dep").append(d);
+    }
+    sb.append(") {\n");
+    for (int d = 0; d < deps.size(); d++) {
+      sb.append("    this.dep").append(d).append(" = dep").append(d).append(";\n");
+    }
+    sb.append("  }\n");
+    if (handler) {
+      sb.append("\n  @Override\n");
+      sb.append("  public int id() {\n");
+      sb.append("    return ").append(i).append(";\n");
+      sb.append("  }\n");
+    }
+    sb.append("}\n");
+    write(pkg, "Bean" + i, sb.toString());
+  }
+
+  private void service(String pkg, String scope, String name, String annotation, String shortName) throws IOException {
+    write(pkg, name, "package " + pkg + ";\n\n" +
+      "import " + annotation + ";\n" +
+      "import " + BASE_PACKAGE + ".GraphService;\n\n" +
+      "@" + scope + "\n" +
+      "@" + shortName + "\n" +
+      "public class " + name + " implements GraphService {\n\n" +
+      "  @Override\n" +
+      "  public String name() {\n" +
+      "    return \"" + shortName.toLowerCase() + "\";\n" +
+      "  }\n" +
+      "}\n");
+  }
+
+  /**
+   * Entry point used by the benchmarks to obtain the module and lookup type for a graph size.
+   */
+  private void graphs(List<Integer> sizes) throws IOException {
+    final StringBuilder sb = new StringBuilder(1000);
+    sb.append("package ").append(BASE_PACKAGE).append(";\n\n");
+    sb.append("import io.avaje.inject.spi.Module;\n\n");
+    sb.append("public final class Graphs {\n\n");
+    sb.append("  private Graphs() {\n  }\n\n");
+    sb.append("  /**\n   * Return the module for the given graph size.\n   */\n");
+    sb.append("  public static Module module(int size) {\n");
+    sb.append("    switch (size) {\n");
+    for (int size : sizes) {
+      sb.append("      case ").append(size).append(":\n");
+      sb.append("        return new ").append(BASE_PACKAGE).append(".g").append(size).append(".Graph").append(size).append("Module();\n");
+    }
+    sb.append("      default:\n");
+    sb.append("        throw new IllegalArgumentException(\"No graph generated for size \" + size);\n");
+    sb.append("    }\n  }\n\n");
+    sb.append("  /**\n   * Return a bean type from the middle of the graph to use for lookups.\n   */\n");
+    sb.append("  public static Class<?> lookupType(int size) {\n");
+    sb.append("    switch (size) {\n");
+    for (int size : sizes) {
+      sb.append("      case ").append(size).append(":\n");
+      sb.append("        return ").append(BASE_PACKAGE).append(".g").append(size).append(".Bean").append(size / 2).append(".class;\n");
+    }
+    sb.append("      default:\n");
+    sb.append("        throw new IllegalArgumentException(\"No graph generated for size \" + size);\n");
+    sb.append("    }\n  }\n\n");
+    sb.append("  /**\n   * Return the prototype bean type for the given graph size.\n   */\n");
+    sb.append("  public static Class<?> prototypeType(int size) {\n");
+    sb.append("    switch (size) {\n");
+    for (int size : sizes) {
+      sb.append("      case ").append(size).append(":\n");
+      sb.append("        return ").append(BASE_PACKAGE).append(".g").append(size).append(".ProtoBean.class;\n");
+    }
+    sb.append("      default:\n");
+    sb.append("        throw new IllegalArgumentException(\"No graph generated for size \" + size);\n");
+    sb.append("    }\n  }\n}\n");
+    write(BASE_PACKAGE, "Graphs", sb.toString());
+  }
+
+  private void write(String pkg, String name, String content) throws IOException {
+    final Path dir = outputDir.resolve(pkg.replace('.', '/'));
+    Files.createDirectories(dir);
+    Files.writeString(dir.resolve(name + ".java"), content);
+  }
+}
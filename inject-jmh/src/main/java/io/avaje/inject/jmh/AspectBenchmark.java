@@ -0,0 +1,54 @@
+package io.avaje.inject.jmh;
+
+import io.avaje.inject.BeanScope;
+import io.avaje.inject.jmh.aspect.AdvisedService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dispatch cost of generated $Proxy methods with zero, one and two aspects.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AspectBenchmark {
+
+  private BeanScope scope;
+  private AdvisedService service;
+  private int value;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    scope = BeanScope.builder().build();
+    service = scope.get(AdvisedService.class);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    scope.close();
+  }
+
+  @Benchmark
+  public int plain() {
+    return service.plain(value++);
+  }
+
+  @Benchmark
+  public int oneAspect() {
+    return service.oneAspect(value++);
+  }
+
+  @Benchmark
+  public int twoAspects() {
+    return service.twoAspects(value++);
+  }
+
+  @Benchmark
+  public void voidAspect() {
+    service.voidAspect(value++);
+  }
+}
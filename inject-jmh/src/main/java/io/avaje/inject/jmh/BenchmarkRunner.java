@@ -0,0 +1,30 @@
+package io.avaje.inject.jmh;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Run the benchmarks with the gc profiler (allocation rates) writing JSON results.
+ * <p>
+ * Command line options are passed through to JMH, for example {@code LookupBenchmark -p size=500}.
+ */
+public final class BenchmarkRunner {
+
+  public static void main(String[] args) throws Exception {
+    CommandLineOptions commandLine = new CommandLineOptions(args);
+    ChainedOptionsBuilder options = new OptionsBuilder()
+      .parent(commandLine)
+      .addProfiler(GCProfiler.class)
+      .resultFormat(ResultFormatType.JSON)
+      .result("target/jmh-result.json");
+
+    if (commandLine.getIncludes().isEmpty()) {
+      options.include(BenchmarkRunner.class.getPackage().getName() + ".*Benchmark");
+    }
+    new Runner(options.build()).run();
+  }
+}
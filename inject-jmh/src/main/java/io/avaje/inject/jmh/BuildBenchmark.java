@@ -0,0 +1,37 @@
+package io.avaje.inject.jmh;
+
+import io.avaje.inject.BeanScope;
+import io.avaje.inject.jmh.graph.Graphs;
+import io.avaje.inject.spi.Module;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of building (and closing) a BeanScope for the generated graphs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BuildBenchmark {
+
+  @Param({"50", "500", "5000"})
+  int size;
+
+  private Module module;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    module = Graphs.module(size);
+  }
+
+  @Benchmark
+  public BeanScope build() {
+    try (BeanScope scope = BeanScope.builder().modules(module).build()) {
+      return scope;
+    }
+  }
+}
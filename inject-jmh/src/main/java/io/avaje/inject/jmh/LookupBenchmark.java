@@ -0,0 +1,85 @@
+package io.avaje.inject.jmh;
+
+import io.avaje.inject.BeanHandle;
+import io.avaje.inject.BeanScope;
+import io.avaje.inject.jmh.graph.GraphHandler;
+import io.avaje.inject.jmh.graph.GraphService;
+import io.avaje.inject.jmh.graph.Graphs;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookup costs of a built BeanScope for the generated graphs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LookupBenchmark {
+
+  @Param({"50", "500", "5000"})
+  int size;
+
+  private BeanScope scope;
+  private Class<?> lookupType;
+  private Class<?> prototypeType;
+  private BeanHandle<GraphHandler> namedHandle;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    scope = BeanScope.builder().modules(Graphs.module(size)).build();
+    lookupType = Graphs.lookupType(size);
+    prototypeType = Graphs.prototypeType(size);
+    namedHandle = scope.handle(GraphHandler.class, "h10");
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    scope.close();
+  }
+
+  @Benchmark
+  public Object get() {
+    return scope.get(lookupType);
+  }
+
+  @Benchmark
+  public Object getNamed() {
+    return scope.get(GraphHandler.class, "h10");
+  }
+
+  @Benchmark
+  public GraphHandler handleNamed() {
+    return namedHandle.get();
+  }
+
+  @Benchmark
+  public GraphService getPrimary() {
+    return scope.get(GraphService.class);
+  }
+
+  @Benchmark
+  public Object getPrototype() {
+    return scope.get(prototypeType);
+  }
+
+  @Benchmark
+  public List<GraphHandler> list() {
+    return scope.list(GraphHandler.class);
+  }
+
+  @Benchmark
+  public List<GraphHandler> listByPriority() {
+    return scope.listByPriority(GraphHandler.class);
+  }
+
+  @Benchmark
+  public Map<String, GraphHandler> map() {
+    return scope.map(GraphHandler.class);
+  }
+}
@@ -0,0 +1,27 @@
+package io.avaje.inject.jmh.aspect;
+
+import jakarta.inject.Singleton;
+
+@Singleton
+public class AdvisedService {
+
+  public int plain(int value) {
+    return value + 1;
+  }
+
+  @Counted
+  public int oneAspect(int value) {
+    return value + 1;
+  }
+
+  @Counted
+  @Traced
+  public int twoAspects(int value) {
+    return value + 1;
+  }
+
+  @Counted
+  public void voidAspect(int value) {
+    // do nothing
+  }
+}
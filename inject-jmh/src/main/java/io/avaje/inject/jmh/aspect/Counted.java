@@ -0,0 +1,14 @@
+package io.avaje.inject.jmh.aspect;
+
+import io.avaje.inject.aop.Aspect;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+@Aspect(target = CountedAspect.class, ordering = 10)
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Counted {
+}
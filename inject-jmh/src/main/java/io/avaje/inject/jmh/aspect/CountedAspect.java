@@ -0,0 +1,39 @@
+package io.avaje.inject.jmh.aspect;
+
+import io.avaje.inject.aop.AspectProvider;
+import io.avaje.inject.aop.Invocation;
+import io.avaje.inject.aop.MethodDescriptor;
+import io.avaje.inject.aop.MethodInterceptor;
+import jakarta.inject.Singleton;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cheap interceptor such that the benchmark measures the dispatch overhead.
+ */
+@Singleton
+public class CountedAspect implements AspectProvider<Counted>, MethodInterceptor {
+
+  private final LongAdder counter = new LongAdder();
+
+  @Override
+  public MethodInterceptor interceptor(Method method, Counted aspectAnnotation) {
+    return this;
+  }
+
+  @Override
+  public MethodInterceptor interceptor(MethodDescriptor method, Class<Counted> annotationType) {
+    return this;
+  }
+
+  @Override
+  public void invoke(Invocation invocation) throws Throwable {
+    counter.increment();
+    invocation.invoke();
+  }
+
+  public long count() {
+    return counter.sum();
+  }
+}
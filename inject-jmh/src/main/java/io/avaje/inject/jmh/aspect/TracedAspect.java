@@ -0,0 +1,41 @@
+package io.avaje.inject.jmh.aspect;
+
+import io.avaje.inject.aop.AspectProvider;
+import io.avaje.inject.aop.Invocation;
+import io.avaje.inject.aop.MethodDescriptor;
+import io.avaje.inject.aop.MethodInterceptor;
+import jakarta.inject.Singleton;
+
+import java.lang.reflect.Method;
+
+/**
+ * Interceptor that reads the method and arguments like a typical tracing aspect.
+ */
+@Singleton
+public class TracedAspect implements AspectProvider<Traced>, MethodInterceptor {
+
+  private volatile Object last;
+
+  @Override
+  public MethodInterceptor interceptor(Method method, Traced aspectAnnotation) {
+    return this;
+  }
+
+  @Override
+  public MethodInterceptor interceptor(MethodDescriptor method, Class<Traced> annotationType) {
+    return this;
+  }
+
+  @Override
+  public void invoke(Invocation invocation) throws Throwable {
+    Object[] args = invocation.arguments();
+    invocation.invoke();
+    if (args.length > 0) {
+      last = invocation.method();
+    }
+  }
+
+  public Object last() {
+    return last;
+  }
+}
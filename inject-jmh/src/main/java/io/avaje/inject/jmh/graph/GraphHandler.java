@@ -0,0 +1,9 @@
+package io.avaje.inject.jmh.graph;
+
+/**
+ * Implemented by every 10th bean of the generated graphs (named with a priority).
+ */
+public interface GraphHandler {
+
+  int id();
+}
@@ -0,0 +1,9 @@
+package io.avaje.inject.jmh.graph;
+
+/**
+ * Implemented by a primary and a secondary bean in each generated graph.
+ */
+public interface GraphService {
+
+  String name();
+}
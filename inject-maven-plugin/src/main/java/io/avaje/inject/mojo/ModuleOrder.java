@@ -0,0 +1,109 @@
+package io.avaje.inject.mojo;
+
+import io.avaje.inject.spi.Module;
+
+import java.util.*;
+
+/**
+ * Orders the modules based on their requires and provides in the same way as the BeanScopeBuilder
+ * such that the order can be precomputed when the application is packaged.
+ */
+final class ModuleOrder {
+
+  private final List<Module> ordered = new ArrayList<>();
+  private final Set<Module> pushed = new HashSet<>();
+  private final List<Module> queue = new ArrayList<>();
+  private final List<Module> queueNoDependencies = new ArrayList<>();
+  private final Map<String, List<Module>> providesMap = new HashMap<>();
+
+  /** Return the modules in the order they are built. */
+  static List<Module> order(List<Module> modules) {
+    final var order = new ModuleOrder();
+    modules.forEach(order::add);
+    return order.ordered();
+  }
+
+  /**
+   * Return the hash of the set of modules used to check that the precomputed order matches the
+   * modules at runtime.
+   */
+  static String hash(List<Module> modules) {
+    final List<String> names = new ArrayList<>();
+    for (final Module module : modules) {
+      names.add(module.getClass().getName());
+    }
+    Collections.sort(names);
+    return Integer.toHexString(String.join("\n", names).hashCode());
+  }
+
+  private void add(Module module) {
+    addProvides(module, module.getClass());
+    addProvides(module, module.provides());
+    addProvides(module, module.autoProvides());
+    addProvides(module, module.autoProvidesAspects());
+    if (requiresEmpty(module)) {
+      if (module.provides().length > 0) {
+        push(module);
+      } else {
+        queueNoDependencies.add(module);
+      }
+    } else {
+      queue.add(module);
+    }
+  }
+
+  private void addProvides(Module module, Class<?>... provides) {
+    for (final Class<?> feature : provides) {
+      providesMap.computeIfAbsent(feature.getTypeName(), s -> new ArrayList<>()).add(module);
+    }
+  }
+
+  private List<Module> ordered() {
+    queueNoDependencies.forEach(this::push);
+    boolean changed;
+    do {
+      changed = false;
+      final Iterator<Module> it = queue.iterator();
+      while (it.hasNext()) {
+        final Module module = it.next();
+        if (satisfied(module)) {
+          it.remove();
+          push(module);
+          changed = true;
+        }
+      }
+    } while (changed);
+    // unsatisfied modules (provided by a parent scope or supplied beans) go last
+    queue.forEach(this::push);
+    return ordered;
+  }
+
+  private void push(Module module) {
+    pushed.add(module);
+    ordered.add(module);
+  }
+
+  private boolean satisfied(Module module) {
+    return satisfied(module.requires())
+        && satisfied(module.requiresPackages())
+        && satisfied(module.autoRequiresAspects())
+        && satisfied(module.autoRequires());
+  }
+
+  private boolean satisfied(Class<?>[] requires) {
+    for (final Class<?> dependency : requires) {
+      final List<Module> providers = providesMap.get(dependency.getTypeName());
+      if (providers == null || !pushed.containsAll(providers)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean requiresEmpty(Module module) {
+    return module.requires().length == 0
+        && module.requiresPackages().length == 0
+        && module.autoRequires().length == 0
+        && module.autoRequiresAspects().length == 0;
+  }
+}
@@ -0,0 +1,88 @@
+package io.avaje.inject.mojo;
+
+import io.avaje.inject.spi.Module;
+import org.apache.maven.artifact.DependencyResolutionRequiredException;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+import org.apache.maven.project.MavenProject;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.*;
+
+/**
+ * Plugin that generates <code>META-INF/avaje-inject-registry</code> in the build output directory
+ * listing the avaje-inject modules in the runtime classpath in the order they are built.
+ *
+ * <p>The modules are ordered based on their requires and provides and listed along with a hash of
+ * the set of modules. When building a BeanScope the modules are discovered via ServiceLoader and
+ * when they match the hash this order is used rather than resolving the order at startup. Otherwise
+ * (like when running tests with extra test modules) the registry is ignored.
+ *
+ * <p>The registry can be ignored by setting the system property <code>avaje.inject.registry=false
+ * </code>.
+ */
+@Mojo(
+    name = "registry",
+    defaultPhase = LifecyclePhase.PROCESS_CLASSES,
+    requiresDependencyResolution = ResolutionScope.RUNTIME)
+public class RegistryMojo extends AbstractMojo {
+
+  private static final String REGISTRY = "META-INF/avaje-inject-registry";
+
+  @Parameter(defaultValue = "${project}", readonly = true, required = true)
+  private MavenProject project;
+
+  @Override
+  public void execute() throws MojoExecutionException {
+    final var registry = new File(project.getBuild().getOutputDirectory(), REGISTRY);
+    registry.getParentFile().mkdirs();
+
+    try (var newClassLoader = createClassLoader(runtimeClasspath());
+        var writer = new FileWriter(registry)) {
+
+      // the modules are written in the order they are built
+      final List<Module> modules = new ArrayList<>();
+      ServiceLoader.load(Module.class, newClassLoader).forEach(modules::add);
+      for (final Module module : ModuleOrder.order(modules)) {
+        writeEntry(writer, "module", module.getClass().getName());
+      }
+      writeEntry(writer, "order", ModuleOrder.hash(modules));
+
+    } catch (final IOException e) {
+      throw new MojoExecutionException("Failed to write " + REGISTRY, e);
+    }
+  }
+
+  private List<URL> runtimeClasspath() throws MojoExecutionException {
+    final List<URL> listUrl = new ArrayList<>();
+    try {
+      for (final String element : project.getRuntimeClasspathElements()) {
+        listUrl.add(new File(element).toURI().toURL());
+      }
+    } catch (final DependencyResolutionRequiredException | MalformedURLException e) {
+      throw new MojoExecutionException("Failed to get runtime classpath", e);
+    }
+    return listUrl;
+  }
+
+  private URLClassLoader createClassLoader(List<URL> listUrl) {
+    return new URLClassLoader(
+        listUrl.toArray(new URL[listUrl.size()]), Thread.currentThread().getContextClassLoader());
+  }
+
+  private static void writeEntry(FileWriter writer, String kind, String value) throws IOException {
+    writer.write(kind);
+    writer.write(" ");
+    writer.write(value);
+    writer.write("\n");
+  }
+}
@@ -4,6 +4,7 @@
   @GeneratePrism(value = Singleton.class, publicAccess = true),
   @GeneratePrism(value = Component.class, publicAccess = true),
   @GeneratePrism(value = Prototype.class, publicAccess = true),
+  @GeneratePrism(value = Lazy.class, publicAccess = true),
   @GeneratePrism(value = Scope.class, publicAccess = true),
   @GeneratePrism(value = Qualifier.class, publicAccess = true),
   @GeneratePrism(value = Named.class, publicAccess = true),
@@ -23,6 +24,7 @@ import io.avaje.inject.Bean;
 import io.avaje.inject.Component;
 import io.avaje.inject.Factory;
 import io.avaje.inject.InjectModule;
+import io.avaje.inject.Lazy;
 import io.avaje.inject.Primary;
 import io.avaje.inject.Prototype;
 import io.avaje.inject.Secondary;
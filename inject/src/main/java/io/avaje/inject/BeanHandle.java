@@ -0,0 +1,32 @@
+package io.avaje.inject;
+
+import io.avaje.lang.NonNullApi;
+
+/**
+ * A handle to a bean that is resolved once such that repeated lookups are cheap.
+ * <p>
+ * For singleton beans {@link #get()} returns the bean instance held by the handle
+ * and for prototype scoped beans it creates the instance via the provider without
+ * any further lookup or matching by name.
+ *
+ * <pre>{@code
+ *
+ *   BeanHandle<Heater> heater = beanScope.handle(Heater.class, "electric");
+ *   ...
+ *   // repeated calls are as cheap as a field read
+ *   heater.get().heat();
+ *
+ * }</pre>
+ *
+ * @param <T> The type of the bean
+ * @see BeanScope#handle(java.lang.reflect.Type, String)
+ */
+@NonNullApi
+@FunctionalInterface
+public interface BeanHandle<T> {
+
+  /**
+   * Return the bean (a new instance for prototype scoped beans).
+   */
+  T get();
+}
@@ -171,6 +171,28 @@ public interface BeanScope extends AutoCloseable {
    */
   <T> Optional<T> getOptional(Type type, @Nullable String name);
 
+  /**
+   * Return a handle to the bean given the type and name.
+   * <p>
+   * The bean is resolved once such that calling {@link BeanHandle#get()} repeatedly
+   * does not repeat the lookup and matching performed by {@link #get(Type, String)}.
+   * Use this when the same bean is obtained from the scope many times.
+   *
+   * <pre>{@code
+   *
+   *   BeanHandle<Heater> heater = beanScope.handle(Heater.class, "electric");
+   *   heater.get().heat();
+   *
+   * }</pre>
+   *
+   * @param type The bean type or generic type
+   * @param name the name qualifier of a specific bean
+   * @throws java.util.NoSuchElementException When no matching bean is found
+   */
+  default <T> BeanHandle<T> handle(Type type, @Nullable String name) {
+    return () -> get(type, name);
+  }
+
   /**
    * Return the list of beans that have an annotation.
    *
@@ -182,6 +204,9 @@ public interface BeanScope extends AutoCloseable {
    *   List<Object> controllers = beanScope.listByAnnotation(Controller.class);
    *
    * }</pre>
+   * <p>
+   * When none of the matching beans are prototype scoped the result is unmodifiable,
+   * computed once and shared by subsequent calls.
    *
    * @param annotation An annotation class.
    */
@@ -197,6 +222,9 @@ public interface BeanScope extends AutoCloseable {
    *   List<WebRoute> routes = beanScope.list(WebRoute.class);
    *
    * }</pre>
+   * <p>
+   * When none of the matching beans are prototype scoped the result is unmodifiable,
+   * computed once and shared by subsequent calls.
    *
    * @param type The type of beans to return.
    */
@@ -227,6 +255,9 @@ public interface BeanScope extends AutoCloseable {
    * Return the beans for this type mapped by their qualifier name.
    * <p>
    * Beans with no qualifier name get a generated unique key to use instead.
+   * <p>
+   * When none of the matching beans are prototype scoped the result is unmodifiable,
+   * computed once and shared by subsequent calls.
    */
   <T> Map<String, T> map(Type type);
 
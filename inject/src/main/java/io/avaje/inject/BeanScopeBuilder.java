@@ -6,6 +6,8 @@ import io.avaje.lang.Nullable;
 import jakarta.inject.Provider;
 
 import java.lang.reflect.Type;
+import java.time.Duration;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 
 /**
@@ -287,6 +289,143 @@ public interface BeanScopeBuilder {
     return parent(parent, parentOverride);
   }
 
+  /**
+   * Set to true to merge the entries of the parent scope (and its ancestors) into
+   * this scope when it is built (defaults to false).
+   * <p>
+   * Without this a lookup that is not satisfied by this scope walks up the parent
+   * chain, merging lists and maps at each level. With this a lookup is a single probe
+   * of the merged entries regardless of the depth of the scope hierarchy. Beans in this
+   * scope are still used in preference to beans in the parent scope, matching the
+   * behaviour of walking the parent chain.
+   * <p>
+   * The cost is building the merged entries when this scope is built so this is
+   * suited to scopes that are used for many lookups. For deep hierarchies the
+   * intermediate scopes should also be built with flattenParent such that their
+   * merged entries are reused.
+   *
+   * @param flattenParent When true merge the parent scope entries into this scope
+   */
+  BeanScopeBuilder flattenParent(boolean flattenParent);
+
+  /**
+   * Create the beans of modules that support parallel building concurrently using the
+   * given executor.
+   * <p>
+   * Only modules with {@code @InjectModule(parallel = true)} are built in parallel and
+   * other modules are built sequentially as normal. The beans of such a module are grouped
+   * by dependency level and the beans of each level are created concurrently, with the
+   * levels built in order. The beans are registered in the same order as when building
+   * sequentially such that the resulting scope is the same.
+   * <p>
+   * This is useful when a module has many beans with slow constructors (like clients,
+   * pools and caches) that do not depend on each other. Note that the constructors of
+   * such beans must not depend on running on the thread that builds the scope.
+   *
+   * <pre>{@code
+   *
+   *   ExecutorService executor = Executors.newFixedThreadPool(4);
+   *
+   *   BeanScope scope = BeanScope.builder()
+   *     .parallelBeans(executor)
+   *     .build();
+   *
+   * }</pre>
+   *
+   * @param executor The executor used to create the beans of a level concurrently
+   */
+  BeanScopeBuilder parallelBeans(Executor executor);
+
+  /**
+   * Build modules that do not depend on each other concurrently using the given executor.
+   * <p>
+   * The modules are grouped into waves based on their requires, requiresPackages,
+   * autoRequires and provides. The modules of a wave only depend on modules of earlier
+   * waves and are built concurrently, with the waves built in order. All modules are
+   * built before field injection and the post construct lifecycle methods are run.
+   * <p>
+   * This is useful for applications with multiple modules that are slow to build. Modules
+   * that are explicitly specified via {@link #modules(Module...)} are built sequentially.
+   * This can be combined with {@link #parallelBeans(Executor)}.
+   *
+   * @param executor The executor used to build the modules of a wave concurrently
+   */
+  BeanScopeBuilder parallelModules(Executor executor);
+
+  /**
+   * Log a startup report listing the slowest beans and the critical path.
+   * <p>
+   * The report includes the time taken to create each bean, run its field and method
+   * injection and run its PostConstruct method. The critical path is the chain of
+   * dependent beans with the largest total creation time.
+   * <p>
+   * Independently of this option, when a Flight Recorder recording is running with the
+   * {@code io.avaje.inject.Bean} event enabled an event is emitted for each module, bean,
+   * injection and PostConstruct method with the bean type, qualifier and module.
+   *
+   * <pre>{@code
+   *
+   *   BeanScope scope = BeanScope.builder()
+   *     .startupReport(true)
+   *     .build();
+   *
+   * }</pre>
+   *
+   * @param startupReport When true log the startup report
+   */
+  BeanScopeBuilder startupReport(boolean startupReport);
+
+  /**
+   * Run the PostConstruct methods concurrently using the given executor.
+   * <p>
+   * The beans that each bean depends on are captured while the beans are built (via
+   * constructor, factory method, field and method injection). A PostConstruct method
+   * is then run once the PostConstruct methods of the beans it depends on have completed
+   * such that independent PostConstruct methods (like warming caches or connecting
+   * clients) run concurrently. The build still returns when all the PostConstruct methods
+   * have completed and throws the first error (in the order they would run sequentially).
+   * <p>
+   * Virtual threads are a good fit when the PostConstruct methods mostly perform IO.
+   *
+   * <pre>{@code
+   *
+   *   BeanScope scope = BeanScope.builder()
+   *     .parallelPostConstruct(Executors.newVirtualThreadPerTaskExecutor())
+   *     .build();
+   *
+   * }</pre>
+   *
+   * @param executor The executor used to run the PostConstruct methods
+   */
+  BeanScopeBuilder parallelPostConstruct(Executor executor);
+
+  /**
+   * Close the beans concurrently in reverse dependency order with deadlines.
+   * <p>
+   * A PreDestroy method (or close of an AutoCloseable bean) runs once the PreDestroy
+   * methods of the beans that depend on it have completed or have exceeded the bean
+   * timeout, such that independent beans (like producers and pools) are closed
+   * concurrently. Closing the scope returns when all have completed or when the overall
+   * timeout is reached. The beans that overran the bean timeout are logged as a warning.
+   * <p>
+   * This is useful when the time allowed for shutdown is limited (like the termination
+   * grace period of a container).
+   *
+   * <pre>{@code
+   *
+   *   BeanScope scope = BeanScope.builder()
+   *     .shutdownHook(true)
+   *     .parallelPreDestroy(executor, Duration.ofSeconds(5), Duration.ofSeconds(20))
+   *     .build();
+   *
+   * }</pre>
+   *
+   * @param executor    The executor used to run the PreDestroy methods
+   * @param beanTimeout The time to wait for the PreDestroy method of each bean
+   * @param timeout     The overall time to wait for all the PreDestroy methods
+   */
+  BeanScopeBuilder parallelPreDestroy(Executor executor, Duration beanTimeout, Duration timeout);
+
   /**
    * Extend the builder to support testing using mockito with
    * <code>withMock()</code> and <code>withSpy()</code> methods.
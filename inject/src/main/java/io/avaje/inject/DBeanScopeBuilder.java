@@ -9,7 +9,9 @@ import jakarta.inject.Provider;
 
 import java.lang.System.Logger.Level;
 import java.lang.reflect.Type;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 
 /**
@@ -26,7 +28,15 @@ final class DBeanScopeBuilder implements BeanScopeBuilder.ForTesting {
   private final Set<Module> includeModules = new LinkedHashSet<>();
   private BeanScope parent;
   private boolean parentOverride = true;
+  private boolean flattenParent;
   private boolean shutdownHook;
+  private Executor parallelExecutor;
+  private Executor moduleExecutor;
+  private Executor postConstructExecutor;
+  private boolean startupReport;
+  private Executor preDestroyExecutor;
+  private Duration preDestroyBeanTimeout;
+  private Duration preDestroyTimeout;
   private ClassLoader classLoader;
 
   /**
@@ -107,6 +117,44 @@ final class DBeanScopeBuilder implements BeanScopeBuilder.ForTesting {
     return this;
   }
 
+  @Override
+  public BeanScopeBuilder flattenParent(boolean flattenParent) {
+    this.flattenParent = flattenParent;
+    return this;
+  }
+
+  @Override
+  public BeanScopeBuilder parallelBeans(Executor executor) {
+    this.parallelExecutor = executor;
+    return this;
+  }
+
+  @Override
+  public BeanScopeBuilder parallelModules(Executor executor) {
+    this.moduleExecutor = executor;
+    return this;
+  }
+
+  @Override
+  public BeanScopeBuilder startupReport(boolean startupReport) {
+    this.startupReport = startupReport;
+    return this;
+  }
+
+  @Override
+  public BeanScopeBuilder parallelPostConstruct(Executor executor) {
+    this.postConstructExecutor = executor;
+    return this;
+  }
+
+  @Override
+  public BeanScopeBuilder parallelPreDestroy(Executor executor, Duration beanTimeout, Duration timeout) {
+    this.preDestroyExecutor = executor;
+    this.preDestroyBeanTimeout = beanTimeout;
+    this.preDestroyTimeout = timeout;
+    return this;
+  }
+
   @Override
   public BeanScopeBuilder.ForTesting mock(Class<?> type) {
     return mock(type, null, null);
@@ -153,7 +201,16 @@ final class DBeanScopeBuilder implements BeanScopeBuilder.ForTesting {
     // sort factories by dependsOn
     FactoryOrder factoryOrder = new FactoryOrder(parent, includeModules, !suppliedBeans.isEmpty());
     if (factoryOrder.isEmpty()) {
-      ServiceLoader.load(Module.class, loader).forEach(factoryOrder::add);
+      List<Module> modules = new ArrayList<>();
+      ServiceLoader.load(Module.class, loader).forEach(modules::add);
+      // use the order precomputed by inject-maven-plugin when it matches these modules
+      var ordered = DRegistry.ordered(loader, modules);
+      var precomputed = new FactoryOrder(parent, includeModules, !suppliedBeans.isEmpty());
+      if (ordered != null && precomputed.addOrdered(ordered)) {
+        factoryOrder = precomputed;
+      } else {
+        modules.forEach(factoryOrder::add);
+      }
     }
 
     Set<String> moduleNames = factoryOrder.orderFactories();
@@ -165,13 +222,39 @@ final class DBeanScopeBuilder implements BeanScopeBuilder.ForTesting {
         " Refer to https://avaje.io/inject#gradle");
     }
     log.log(Level.DEBUG, "building with modules {0}", moduleNames);
-    Builder builder = Builder.newBuilder(suppliedBeans, enrichBeans, parent, parentOverride);
-    for (Module factory : factoryOrder.factories()) {
-      factory.build(builder);
+    ScopeBuild builder = ScopeBuild.of(suppliedBeans, enrichBeans, parent, parentOverride);
+    builder.flattenParent(flattenParent);
+    builder.recordStartup(startupReport);
+    if (postConstructExecutor != null) {
+      builder.parallelPostConstruct(postConstructExecutor);
+    }
+    if (preDestroyExecutor != null) {
+      builder.parallelPreDestroy(preDestroyExecutor, preDestroyBeanTimeout, preDestroyTimeout);
+    }
+    if (moduleExecutor == null) {
+      for (Module factory : factoryOrder.factories()) {
+        build(builder, factory);
+      }
+    } else {
+      for (List<Module> wave : factoryOrder.waves()) {
+        if (wave.size() == 1) {
+          build(builder, wave.get(0));
+        } else {
+          builder.buildModules(wave, moduleExecutor);
+        }
+      }
     }
     return builder.build(shutdownHook);
   }
 
+  private void build(ScopeBuild builder, Module factory) {
+    if (parallelExecutor == null) {
+      builder.buildModule(factory);
+    } else {
+      builder.buildParallel(factory, parallelExecutor);
+    }
+  }
+
   /**
    * Return the type that we map the supplied bean to.
    */
@@ -194,6 +277,7 @@ final class DBeanScopeBuilder implements BeanScopeBuilder.ForTesting {
     private final boolean suppliedBeans;
     private final Set<String> moduleNames = new LinkedHashSet<>();
     private final List<Module> factories = new ArrayList<>();
+    private final List<List<Module>> waves = new ArrayList<>();
     private final List<FactoryState> queue = new ArrayList<>();
     private final List<FactoryState> queueNoDependencies = new ArrayList<>();
 
@@ -205,16 +289,13 @@ final class DBeanScopeBuilder implements BeanScopeBuilder.ForTesting {
       this.suppliedBeans = suppliedBeans;
       for (Module includeModule : includeModules) {
         moduleNames.add(includeModule.getClass().getName());
+        // explicitly included modules are built in the given order
+        waves.add(List.of(includeModule));
       }
     }
 
     void add(Module module) {
-      FactoryState factoryState = new FactoryState(module);
-      providesMap.computeIfAbsent(module.getClass().getTypeName(), s -> new FactoryList()).add(factoryState);
-      addFactoryProvides(factoryState, module.provides());
-      addFactoryProvides(factoryState, module.autoProvides());
-      addFactoryProvides(factoryState, module.autoProvidesAspects());
-
+      FactoryState factoryState = register(module);
       if (factoryState.isRequiresEmpty()) {
         if (factoryState.explicitlyProvides()) {
           // push immediately when explicitly 'provides' with no 'requires'
@@ -229,6 +310,35 @@ final class DBeanScopeBuilder implements BeanScopeBuilder.ForTesting {
       }
     }
 
+    /**
+     * Add the modules in the order precomputed when the application was packaged returning
+     * false if that order does not satisfy the module dependencies.
+     * <p>
+     * This checks each module once rather than repeatedly processing the queue.
+     */
+    boolean addOrdered(List<Module> modules) {
+      List<FactoryState> states = new ArrayList<>(modules.size());
+      for (Module module : modules) {
+        states.add(register(module));
+      }
+      for (FactoryState factoryState : states) {
+        if (!satisfiedDependencies(factoryState)) {
+          return false;
+        }
+        push(factoryState);
+      }
+      return true;
+    }
+
+    private FactoryState register(Module module) {
+      FactoryState factoryState = new FactoryState(module);
+      providesMap.computeIfAbsent(module.getClass().getTypeName(), s -> new FactoryList()).add(factoryState);
+      addFactoryProvides(factoryState, module.provides());
+      addFactoryProvides(factoryState, module.autoProvides());
+      addFactoryProvides(factoryState, module.autoProvidesAspects());
+      return factoryState;
+    }
+
     private void addFactoryProvides(FactoryState factoryState, Class<?>[] provides) {
       for (Class<?> feature : provides) {
         providesMap.computeIfAbsent(feature.getTypeName(), s -> new FactoryList()).add(factoryState);
@@ -239,9 +349,40 @@ final class DBeanScopeBuilder implements BeanScopeBuilder.ForTesting {
      * Push the factory onto the build order (the wiring order for modules).
      */
     private void push(FactoryState factory) {
-      factory.setPushed();
+      push(factory, waveOf(factory));
+    }
+
+    private void push(FactoryState factory, int wave) {
+      factory.setPushed(wave);
       factories.add(factory.factory());
       moduleNames.add(factory.factory().getClass().getName());
+      if (wave == waves.size()) {
+        waves.add(new ArrayList<>());
+      }
+      waves.get(wave).add(factory.factory());
+    }
+
+    /**
+     * Return the wave for the factory which is the one after the latest wave of the
+     * factories that provide its (module) dependencies.
+     */
+    private int waveOf(FactoryState factory) {
+      int wave = waveOf(factory.requires(), 0);
+      wave = waveOf(factory.requiresPackages(), wave);
+      wave = waveOf(factory.autoRequiresAspects(), wave);
+      return waveOf(factory.autoRequires(), wave);
+    }
+
+    private int waveOf(@Nullable Class<?>[] requires, int wave) {
+      if (requires != null) {
+        for (Class<?> dependency : requires) {
+          FactoryList factories = providesMap.get(dependency.getTypeName());
+          if (factories != null) {
+            wave = Math.max(wave, factories.maxWave() + 1);
+          }
+        }
+      }
+      return wave;
     }
 
     /**
@@ -264,6 +405,14 @@ final class DBeanScopeBuilder implements BeanScopeBuilder.ForTesting {
       return factories;
     }
 
+    /**
+     * Return the factories grouped into waves where the factories of a wave only
+     * depend on factories in earlier waves (and can be built concurrently).
+     */
+    List<List<Module>> waves() {
+      return waves;
+    }
+
     /**
      * Process the queue pushing the factories in order to satisfy dependencies.
      */
@@ -275,9 +424,9 @@ final class DBeanScopeBuilder implements BeanScopeBuilder.ForTesting {
 
       if (suppliedBeans) {
         // just push everything left assuming supplied beans
-        // will satisfy the required dependencies
+        // will satisfy the required dependencies (building these sequentially)
         for (FactoryState factoryState : queue) {
-          push(factoryState);
+          push(factoryState, waves.size());
         }
       } else if (!queue.isEmpty()) {
         StringBuilder sb = new StringBuilder();
@@ -364,6 +513,7 @@ final class DBeanScopeBuilder implements BeanScopeBuilder.ForTesting {
 
     private final Module factory;
     private boolean pushed;
+    private int wave = -1;
 
     private FactoryState(Module factory) {
       this.factory = factory;
@@ -372,14 +522,22 @@ final class DBeanScopeBuilder implements BeanScopeBuilder.ForTesting {
     /**
      * Set when factory is pushed onto the build/wiring order.
      */
-    void setPushed() {
+    void setPushed(int wave) {
       this.pushed = true;
+      this.wave = wave;
     }
 
     boolean isPushed() {
       return pushed;
     }
 
+    /**
+     * Return the wave this factory is built in (or -1 when not pushed).
+     */
+    int wave() {
+      return wave;
+    }
+
     Module factory() {
       return factory;
     }
@@ -441,6 +599,17 @@ final class DBeanScopeBuilder implements BeanScopeBuilder.ForTesting {
       }
       return true;
     }
+
+    /**
+     * Return the latest wave of the pushed factories (or -1 when none are pushed).
+     */
+    int maxWave() {
+      int max = -1;
+      for (FactoryState factory : factories) {
+        max = Math.max(max, factory.wave());
+      }
+      return max;
+    }
   }
 
 }
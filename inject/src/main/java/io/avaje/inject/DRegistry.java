@@ -0,0 +1,125 @@
+package io.avaje.inject;
+
+import io.avaje.applog.AppLog;
+import io.avaje.inject.spi.Module;
+import io.avaje.lang.Nullable;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.System.Logger.Level;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Registry of the modules generated by the inject-maven-plugin.
+ * <p>
+ * The modules are listed in the order they are built along with a hash of the set of
+ * modules. The modules are still discovered via ServiceLoader (the registry can not tell
+ * when modules are added to the classpath after it was generated like test modules) and
+ * when they match the hash of the registry the listed order is used without resolving it
+ * at startup.
+ * <p>
+ * Only the first registry resource is read (the one of the application) and a registry
+ * that does not match the modules (like a stale copy or the one of a dependency) is
+ * ignored. The registry is not used when the system property {@code avaje.inject.registry}
+ * is {@code false}.
+ */
+final class DRegistry {
+
+  private static final System.Logger log = AppLog.getLogger("io.avaje.inject");
+
+  static final String RESOURCE = "META-INF/avaje-inject-registry";
+
+  private final List<String> modules = new ArrayList<>();
+  private String orderHash;
+
+  /**
+   * Return the modules in the precomputed build order of the registry or null if there is
+   * no registry or it does not match the modules.
+   */
+  @Nullable
+  static List<Module> ordered(ClassLoader classLoader, List<Module> modules) {
+    if (modules.isEmpty() || "false".equals(System.getProperty("avaje.inject.registry"))) {
+      return null;
+    }
+    URL resource = classLoader.getResource(RESOURCE);
+    if (resource == null) {
+      return null;
+    }
+    try (InputStream is = resource.openStream()) {
+      return read(is).ordered(modules);
+    } catch (IOException | RuntimeException e) {
+      log.log(Level.WARNING, "Error reading " + RESOURCE + " resolving the module order at startup", e);
+    }
+    return null;
+  }
+
+  /**
+   * Read the registry entries, lines of {@code module <class>} (in the order they are
+   * built) and {@code order <hash>}.
+   */
+  static DRegistry read(InputStream is) throws IOException {
+    DRegistry registry = new DRegistry();
+    try (BufferedReader reader = new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8))) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        line = line.trim();
+        int pos = line.indexOf(' ');
+        if (pos > 0) {
+          String kind = line.substring(0, pos);
+          String value = line.substring(pos + 1).trim();
+          if ("module".equals(kind)) {
+            registry.modules.add(value);
+          } else if ("order".equals(kind)) {
+            registry.orderHash = value;
+          }
+        }
+      }
+    }
+    return registry;
+  }
+
+  /**
+   * Return the modules discovered at runtime (via ServiceLoader) in the precomputed build
+   * order or null if they are not the modules the order was computed for.
+   */
+  @Nullable
+  List<Module> ordered(List<Module> discovered) {
+    if (orderHash == null || !orderHash.equals(hash(discovered))) {
+      return null;
+    }
+    Map<String, Module> byName = new HashMap<>();
+    for (Module module : discovered) {
+      byName.put(module.getClass().getName(), module);
+    }
+    List<Module> ordered = new ArrayList<>(discovered.size());
+    for (String className : modules) {
+      Module module = byName.remove(className);
+      if (module == null) {
+        // not discovered or listed twice
+        return null;
+      }
+      ordered.add(module);
+    }
+    return byName.isEmpty() ? ordered : null;
+  }
+
+  /**
+   * Return the hash of the set of modules (matching the one computed by inject-maven-plugin).
+   */
+  static String hash(List<Module> modules) {
+    List<String> names = new ArrayList<>(modules.size());
+    for (Module module : modules) {
+      names.add(module.getClass().getName());
+    }
+    Collections.sort(names);
+    return Integer.toHexString(String.join("\n", names).hashCode());
+  }
+}
@@ -81,6 +81,17 @@ public @interface InjectModule {
    */
   Class<?>[] requiresPackages() default {};
 
+  /**
+   * Set to true to support building the beans of this module in parallel.
+   * <p>
+   * The generated module additionally groups the beans by dependency level where the beans
+   * in a level only depend on beans in earlier levels. When the BeanScope is built with
+   * {@link BeanScopeBuilder#parallelBeans(java.util.concurrent.Executor)} the beans of each
+   * level are then created concurrently. This is useful when there are many beans with slow
+   * constructors (like clients, pools and caches) that do not depend on each other.
+   */
+  boolean parallel() default false;
+
   /**
    * Internal use only - identifies the custom scope annotation associated to this module.
    * <p>
@@ -0,0 +1,35 @@
+package io.avaje.inject;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Specify a singleton bean that is created lazily on first use.
+ * <p>
+ * The bean is registered when the BeanScope is built but it is not created (and its
+ * {@code @PostConstruct} method is not invoked) until it is first obtained from the scope
+ * or injected. It is then created once and used for all subsequent use.
+ * <p>
+ * Inject a {@code Provider} of a lazy bean to defer creating it until {@code Provider.get()}
+ * is called. Note that injecting the lazy bean itself into a bean that is created eagerly
+ * (or obtaining it via {@code list()} or {@code map()}) creates it at that point.
+ * <p>
+ * Lazy beans with a {@code @PreDestroy} method (or that are {@code AutoCloseable}) are only
+ * closed when the BeanScope is closed if they have been created.
+ *
+ * <pre>{@code
+ *
+ * @Lazy
+ * @Singleton
+ * class ReportingService {
+ *
+ *   ...
+ * }
+ * }</pre>
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Lazy {
+}
@@ -13,6 +13,26 @@ public interface AspectProvider<T extends Annotation> {
 
   /**
    * Return the method interceptor to use for the given method and aspect annotation.
+   * <p>
+   * Return {@link MethodInterceptor#NOOP} or null when the method does not need to be
+   * intercepted (for example, when the aspect is disabled via configuration). In this case
+   * this aspect is not included in the interceptors for the method, and when no aspect
+   * intercepts the method the generated proxy calls the method directly.
    */
   MethodInterceptor interceptor(Method method, T aspectAnnotation);
+
+  /**
+   * Return the method interceptor to use for the described method and aspect annotation type.
+   * <p>
+   * This is used by generated proxies. By default, this resolves the method and annotation
+   * via reflection and calls {@link #interceptor(Method, Annotation)}. Providers that do not
+   * need these (or only need them later via {@link Invocation#method()}) can override this
+   * to avoid the reflection when the bean is created.
+   *
+   * @param method         The descriptor of the intercepted method
+   * @param annotationType The type of the aspect annotation
+   */
+  default MethodInterceptor interceptor(MethodDescriptor method, Class<T> annotationType) {
+    return interceptor(method.method(), method.annotation(annotationType));
+  }
 }
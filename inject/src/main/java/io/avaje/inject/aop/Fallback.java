@@ -1,5 +1,9 @@
 package io.avaje.inject.aop;
 
+import java.lang.invoke.MethodHandles;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
 import java.lang.reflect.Method;
 
 /**
@@ -25,7 +29,24 @@ public interface Fallback {
    * @throws NoSuchMethodException When no matching fallback method is found
    */
   static Fallback find(String name, Method method) throws NoSuchMethodException {
-    return FallbackFinder.find(name, method);
+    return FallbackFinder.find(name, method, MethodHandles.lookup());
+  }
+
+  /**
+   * Find and return the fallback using the given lookup to access the fallback method.
+   * <p>
+   * The fallback method is bound once as a MethodHandle. Use a lookup created in the
+   * class of the fallback method (via {@code MethodHandles.lookup()}) when the fallback
+   * method is not public.
+   *
+   * @param name   The name of the fallback method
+   * @param method The original method which we match to using argument types.
+   * @param lookup The lookup used to access the fallback method
+   * @return The fallback
+   * @throws NoSuchMethodException When no matching (accessible) fallback method is found
+   */
+  static Fallback find(String name, Method method, MethodHandles.Lookup lookup) throws NoSuchMethodException {
+    return FallbackFinder.find(name, method, lookup);
   }
 
   /**
@@ -35,4 +56,29 @@ public interface Fallback {
    * @param sourceException The exception thrown that triggers the use of the fallback method
    */
   Object invoke(Invocation call, Throwable sourceException);
+
+  /**
+   * Invoke the async method using the fallback method if the method throws or the
+   * returned stage completes exceptionally.
+   * <p>
+   * This does not block. The fallback method would typically also return a CompletionStage
+   * but can return the value which is then used to complete the stage. The resulting stage
+   * is set as the result of the invocation and returned.
+   *
+   * @param call The invocation of the async method
+   * @return The stage that completes with the method result or the fallback result
+   */
+  default CompletionStage<Object> invokeAsync(Invocation.Async call) {
+    CompletionStage<?> stage;
+    try {
+      stage = call.invokeAsync();
+    } catch (Throwable e) {
+      stage = CompletableFuture.failedFuture(e);
+    }
+    final CompletionStage<Object> result = stage
+      .handle((value, e) -> e == null ? CompletableFuture.completedFuture((Object) value) : FallbackFinder.toStage(invoke(call, FallbackFinder.unwrap(e))))
+      .thenCompose(Function.identity());
+    call.result(result);
+    return result;
+  }
 }
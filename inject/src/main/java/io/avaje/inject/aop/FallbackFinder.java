@@ -1,18 +1,73 @@
 package io.avaje.inject.aop;
 
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
 
+/**
+ * Finds the fallback method binding it as a MethodHandle such that invoking it does not
+ * use reflection or copy the arguments.
+ */
 final class FallbackFinder {
 
-  static Fallback find(String name, Method method) throws NoSuchMethodException {
+  static Fallback find(String name, Method method, MethodHandles.Lookup lookup) throws NoSuchMethodException {
     Class<?> type = method.getDeclaringClass();
     Parameter[] parameters = method.getParameters();
+    Method fallbackMethod;
+    boolean withThrowable;
     try {
-      return new WithThrowable(type.getDeclaredMethod(name, paramTypesWithThrowable(parameters)));
+      fallbackMethod = type.getDeclaredMethod(name, paramTypesWithThrowable(parameters));
+      withThrowable = true;
     } catch (NoSuchMethodException e) {
-      return new WithoutThrowable(type.getDeclaredMethod(name, paramTypes(parameters)));
+      fallbackMethod = type.getDeclaredMethod(name, paramTypes(parameters));
+      withThrowable = false;
+    }
+    MethodHandle handle = unreflect(lookup, fallbackMethod);
+    int argCount = parameters.length;
+    if (withThrowable) {
+      // (Object instance, Object[] args, Object throwable) -> Object
+      return new WithThrowable(handle.asType(MethodType.genericMethodType(argCount + 2)).asSpreader(1, Object[].class, argCount));
+    }
+    // (Object instance, Object[] args) -> Object
+    return new WithoutThrowable(handle.asType(MethodType.genericMethodType(argCount + 1)).asSpreader(Object[].class, argCount));
+  }
+
+  /**
+   * Return the cause of the CompletionException (or ExecutionException) of a failed stage.
+   */
+  static Throwable unwrap(Throwable e) {
+    if ((e instanceof CompletionException || e instanceof ExecutionException) && e.getCause() != null) {
+      return e.getCause();
+    }
+    return e;
+  }
+
+  /**
+   * Return the fallback result as a stage (the fallback method may return a value or stage).
+   */
+  @SuppressWarnings("unchecked")
+  static CompletionStage<Object> toStage(Object fallbackResult) {
+    if (fallbackResult instanceof CompletionStage) {
+      return (CompletionStage<Object>) fallbackResult;
+    }
+    return CompletableFuture.completedFuture(fallbackResult);
+  }
+
+  private static MethodHandle unreflect(MethodHandles.Lookup lookup, Method fallbackMethod) throws NoSuchMethodException {
+    // core reflection assumes readability but method handle lookups do not
+    FallbackFinder.class.getModule().addReads(fallbackMethod.getDeclaringClass().getModule());
+    try {
+      return lookup.unreflect(fallbackMethod);
+    } catch (IllegalAccessException e) {
+      NoSuchMethodException ex = new NoSuchMethodException("Fallback method " + fallbackMethod + " is not accessible, use Fallback.find() with a Lookup that has access");
+      ex.initCause(e);
+      throw ex;
     }
   }
 
@@ -35,19 +90,19 @@ final class FallbackFinder {
 
   static class WithThrowable implements Fallback {
 
-    private final Method fallbackMethod;
+    private final MethodHandle fallbackMethod;
 
-    WithThrowable(Method fallbackMethod) {
+    WithThrowable(MethodHandle fallbackMethod) {
       this.fallbackMethod = fallbackMethod;
     }
 
     @Override
     public Object invoke(Invocation call, Throwable e) {
       try {
-        final Object result = fallbackMethod.invoke(call.instance(), call.arguments(e));
+        final Object result = (Object) fallbackMethod.invokeExact(call.instance(), call.arguments(), (Object) e);
         call.result(result);
         return result;
-      } catch (IllegalAccessException | InvocationTargetException ex) {
+      } catch (Throwable ex) {
         throw new InvocationException("Error invoking fallback method", ex);
       }
     }
@@ -55,19 +110,19 @@ final class FallbackFinder {
 
   static class WithoutThrowable implements Fallback {
 
-    private final Method fallbackMethod;
+    private final MethodHandle fallbackMethod;
 
-    WithoutThrowable(Method fallbackMethod) {
+    WithoutThrowable(MethodHandle fallbackMethod) {
       this.fallbackMethod = fallbackMethod;
     }
 
     @Override
     public Object invoke(Invocation call, Throwable e) {
       try {
-        final Object result = fallbackMethod.invoke(call.instance(), call.arguments());
+        final Object result = (Object) fallbackMethod.invokeExact(call.instance(), call.arguments());
         call.result(result);
         return result;
-      } catch (IllegalAccessException | InvocationTargetException ex) {
+      } catch (Throwable ex) {
         throw new InvocationException("Error invoking fallback method", ex);
       }
     }
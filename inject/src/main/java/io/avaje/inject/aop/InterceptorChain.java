@@ -0,0 +1,62 @@
+package io.avaje.inject.aop;
+
+import java.util.Arrays;
+
+/**
+ * The interceptors of an intercepted method built once when the proxy is created.
+ * <p>
+ * Invoking the chain runs all the interceptors against the one invocation which holds the
+ * position in the chain (interceptors of async methods are given a continuation for their
+ * position as they can invoke after returning). This replaces nesting invocations per
+ * interceptor via {@link Invocation.Build#wrap(MethodInterceptor)} on every call.
+ */
+public final class InterceptorChain {
+
+  private final MethodInterceptor[] interceptors;
+
+  private InterceptorChain(MethodInterceptor[] interceptors) {
+    this.interceptors = interceptors;
+  }
+
+  /**
+   * Create the chain given the interceptors with the outer-most interceptor first.
+   * <p>
+   * Null and {@link MethodInterceptor#NOOP} interceptors are not included in the chain.
+   */
+  public static InterceptorChain of(MethodInterceptor... interceptors) {
+    int count = 0;
+    final MethodInterceptor[] chain = new MethodInterceptor[interceptors.length];
+    for (MethodInterceptor interceptor : interceptors) {
+      if (interceptor != null && interceptor != MethodInterceptor.NOOP) {
+        chain[count++] = interceptor;
+      }
+    }
+    return new InterceptorChain(count == chain.length ? chain : Arrays.copyOf(chain, count));
+  }
+
+  /**
+   * Return the number of interceptors in the chain.
+   */
+  public int size() {
+    return interceptors.length;
+  }
+
+  /**
+   * Return true if there are no interceptors such that the method can be called directly.
+   */
+  public boolean isEmpty() {
+    return interceptors.length == 0;
+  }
+
+  /**
+   * Invoke the interceptors of the chain and then the underlying method.
+   * <p>
+   * The result is then available via {@link Invocation.Build#finalResult()}.
+   *
+   * @param invocation The invocation of the intercepted method
+   */
+  public void invoke(Invocation.Build<?> invocation) throws Throwable {
+    invocation.chain = interceptors;
+    invocation.invoke();
+  }
+}
@@ -2,6 +2,7 @@ package io.avaje.inject.aop;
 
 import java.lang.reflect.Method;
 import java.util.Arrays;
+import java.util.concurrent.CompletionStage;
 
 /**
  * Method invocation using in {@link MethodInterceptor#invoke(Invocation)} for Aspects.
@@ -57,15 +58,26 @@ public interface Invocation {
    */
   abstract class Build<T> implements Invocation {
 
-    protected Method method;
+    protected MethodDescriptor method;
     protected Object[] args;
     protected Object instance;
     protected T result;
+    MethodInterceptor[] chain;
+    private int position;
 
     /**
      * Set the instance, method and arguments for the invocation.
      */
     public Build<T> with(Object instance, Method method, Object... args) {
+      return with(instance, MethodDescriptor.of(method), args);
+    }
+
+    /**
+     * Set the instance, method descriptor and arguments for the invocation.
+     * <p>
+     * The method is only resolved when it is asked for via {@link #method()}.
+     */
+    public Build<T> with(Object instance, MethodDescriptor method, Object... args) {
       this.instance = instance;
       this.method = method;
       this.args = args;
@@ -103,7 +115,7 @@ public interface Invocation {
 
     @Override
     public Method method() {
-      return method;
+      return method.method();
     }
 
     @Override
@@ -111,6 +123,43 @@ public interface Invocation {
       return instance;
     }
 
+    /**
+     * Invoke the next interceptor of the {@link InterceptorChain} returning false when there
+     * are no more interceptors and the underlying method should be invoked.
+     * <p>
+     * The position is restored after the interceptor such that an interceptor can invoke
+     * more than once (for example retry) with each invoking the inner interceptors again.
+     */
+    protected final boolean proceed() throws Throwable {
+      final MethodInterceptor[] interceptors = chain;
+      final int index = position;
+      if (interceptors == null || index == interceptors.length) {
+        return false;
+      }
+      position = index + 1;
+      try {
+        interceptors[index].invoke(continuation(index + 1));
+      } finally {
+        position = index;
+      }
+      return true;
+    }
+
+    /**
+     * Return the invocation given to an interceptor which invokes the interceptors from the
+     * given position of the chain and then the underlying method.
+     * <p>
+     * This is the invocation itself (using its position in the chain).
+     */
+    Invocation continuation(int next) {
+      return this;
+    }
+
+    /**
+     * Invoke the underlying method (after all the interceptors of the chain).
+     */
+    abstract Object invokeTarget() throws Throwable;
+
     /**
      * Wrap this invocation using a methodInterceptor returning the wrapped call.
      * <p>
@@ -138,6 +187,14 @@ public interface Invocation {
 
     @Override
     public Object invoke() throws Throwable {
+      if (!proceed()) {
+        delegate.invoke();
+      }
+      return null;
+    }
+
+    @Override
+    Object invokeTarget() throws Throwable {
       delegate.invoke();
       return null;
     }
@@ -166,6 +223,14 @@ public interface Invocation {
 
     @Override
     public Object invoke() throws Throwable {
+      if (!proceed()) {
+        result = delegate.invoke();
+      }
+      return result;
+    }
+
+    @Override
+    Object invokeTarget() throws Throwable {
       result = delegate.invoke();
       return result;
     }
@@ -185,6 +250,148 @@ public interface Invocation {
     }
   }
 
+  /**
+   * Invocation of a method of a generated proxy that calls the super method directly.
+   * <p>
+   * Generated proxies extend this per intercepted method rather than creating a
+   * {@link Call} or {@link Run} with a lambda (that captures the arguments) per call.
+   *
+   * @param <T> The result type ({@code Void} for void methods)
+   */
+  abstract class Super<T> extends Build<T> {
+
+    /**
+     * Invoke the super method of the proxy returning the result (null for void methods).
+     */
+    protected abstract T invokeSuper() throws Throwable;
+
+    @Override
+    public Object invoke() throws Throwable {
+      if (!proceed()) {
+        result = invokeSuper();
+      }
+      return result;
+    }
+
+    @Override
+    Object invokeTarget() throws Throwable {
+      result = invokeSuper();
+      return result;
+    }
+
+    @Override
+    public Build<T> wrap(MethodInterceptor methodInterceptor) {
+      return new Invocation.Call<T>(() -> {
+        methodInterceptor.invoke(this);
+        return finalResult();
+      }).with(instance, method, args);
+    }
+  }
+
+  /**
+   * Invocation of a method that returns a {@code CompletionStage} (or {@code CompletableFuture}).
+   * <p>
+   * The method returns before the work completes, so interceptors that measure or handle the
+   * outcome (timing, tracing, retry, fallback) check for this type and attach to the stage
+   * rather than only seeing the synchronous part of the call. An interceptor that replaces
+   * the stage sets the new stage via {@link #result(Object)}.
+   * <pre>{@code
+   *
+   *   if (invocation instanceof Invocation.Async) {
+   *     long start = System.nanoTime();
+   *     ((Invocation.Async) invocation).invokeAsync()
+   *       .whenComplete((result, e) -> record(System.nanoTime() - start, e));
+   *   } else {
+   *     ...
+   *   }
+   *
+   * }</pre>
+   */
+  interface Async extends Invocation {
+
+    /**
+     * Invoke the underlying method returning its (potentially not yet completed) stage.
+     */
+    CompletionStage<?> invokeAsync() throws Throwable;
+  }
+
+  /**
+   * Invocation of a method of a generated proxy that returns a {@code CompletionStage}.
+   *
+   * @param <T> The result type (a CompletionStage)
+   */
+  abstract class AsyncSuper<T extends CompletionStage<?>> extends Super<T> implements Async {
+
+    @Override
+    public CompletionStage<?> invokeAsync() throws Throwable {
+      return (CompletionStage<?>) invoke();
+    }
+
+    /**
+     * Return a continuation for the position in the chain as the interceptor can invoke
+     * again after it has returned (for example retry from a completion callback).
+     */
+    @Override
+    Invocation continuation(int next) {
+      return new Continuation(this, next);
+    }
+
+    /**
+     * The invocation given to an interceptor of an async method which invokes the interceptors
+     * after it and then the underlying method, any number of times and from any thread.
+     */
+    private static final class Continuation implements Async {
+
+      private final AsyncSuper<?> build;
+      private final int position;
+
+      Continuation(AsyncSuper<?> build, int position) {
+        this.build = build;
+        this.position = position;
+      }
+
+      @Override
+      public Object invoke() throws Throwable {
+        final MethodInterceptor[] interceptors = build.chain;
+        if (position == interceptors.length) {
+          return build.invokeTarget();
+        }
+        interceptors[position].invoke(build.continuation(position + 1));
+        return build.result;
+      }
+
+      @Override
+      public CompletionStage<?> invokeAsync() throws Throwable {
+        return (CompletionStage<?>) invoke();
+      }
+
+      @Override
+      public void result(Object result) {
+        build.result(result);
+      }
+
+      @Override
+      public Object[] arguments() {
+        return build.arguments();
+      }
+
+      @Override
+      public Object[] arguments(Throwable e) {
+        return build.arguments(e);
+      }
+
+      @Override
+      public Method method() {
+        return build.method();
+      }
+
+      @Override
+      public Object instance() {
+        return build.instance();
+      }
+    }
+  }
+
   /**
    * Runnable with checked exceptions.
    */
@@ -0,0 +1,92 @@
+package io.avaje.inject.aop;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+/**
+ * Describes an intercepted method by declaring class, name and parameter types.
+ * <p>
+ * Generated proxies use descriptors rather than looking up the {@link Method} of each
+ * intercepted method when the bean is created. The method is only resolved via reflection
+ * when it is first asked for, typically by an interceptor calling {@link Invocation#method()}.
+ */
+public final class MethodDescriptor {
+
+  private final Class<?> declaringClass;
+  private final String name;
+  private final Class<?>[] parameterTypes;
+  private volatile Method method;
+
+  private MethodDescriptor(Class<?> declaringClass, String name, Class<?>[] parameterTypes, Method method) {
+    this.declaringClass = declaringClass;
+    this.name = name;
+    this.parameterTypes = parameterTypes;
+    this.method = method;
+  }
+
+  /**
+   * Create a descriptor for the method with the given name and parameter types.
+   */
+  public static MethodDescriptor of(Class<?> declaringClass, String name, Class<?>... parameterTypes) {
+    return new MethodDescriptor(declaringClass, name, parameterTypes, null);
+  }
+
+  /**
+   * Create a descriptor for an already resolved method.
+   */
+  public static MethodDescriptor of(Method method) {
+    return new MethodDescriptor(method.getDeclaringClass(), method.getName(), method.getParameterTypes(), method);
+  }
+
+  /**
+   * Return the class that declares the method.
+   */
+  public Class<?> declaringClass() {
+    return declaringClass;
+  }
+
+  /**
+   * Return the method name.
+   */
+  public String name() {
+    return name;
+  }
+
+  /**
+   * Return the method parameter types.
+   */
+  public Class<?>[] parameterTypes() {
+    return parameterTypes.clone();
+  }
+
+  /**
+   * Return the method resolving it via reflection on first use.
+   *
+   * @throws IllegalStateException If the method does not exist
+   */
+  public Method method() {
+    Method resolved = method;
+    if (resolved == null) {
+      try {
+        resolved = declaringClass.getDeclaredMethod(name, parameterTypes);
+      } catch (NoSuchMethodException e) {
+        throw new IllegalStateException(e);
+      }
+      method = resolved;
+    }
+    return resolved;
+  }
+
+  /**
+   * Return the annotation of the given type on the method or null if not present.
+   */
+  public <A extends Annotation> A annotation(Class<A> annotationType) {
+    return method().getAnnotation(annotationType);
+  }
+
+  @Override
+  public String toString() {
+    return declaringClass.getName() + '.' + name + Arrays.toString(parameterTypes);
+  }
+}
@@ -11,6 +11,14 @@ import java.lang.reflect.Method;
 @FunctionalInterface
 public interface MethodInterceptor {
 
+  /**
+   * Interceptor that does nothing other than invoke the method.
+   * <p>
+   * An {@link AspectProvider} returns this (or null) for methods that it does not need to
+   * intercept. Generated proxies then call the method directly for these.
+   */
+  MethodInterceptor NOOP = Invocation::invoke;
+
   /**
    * Implementation can perform before and after invocation logic.
    * <p>
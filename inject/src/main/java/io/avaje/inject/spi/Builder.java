@@ -1,8 +1,10 @@
 package io.avaje.inject.spi;
 
+import io.avaje.inject.BeanHandle;
 import io.avaje.inject.BeanScope;
 import jakarta.inject.Provider;
 
+import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
 import java.util.List;
 import java.util.Map;
@@ -15,6 +17,13 @@ import java.util.function.Consumer;
  */
 public interface Builder {
 
+  /**
+   * The priority annotations (comma separated) read at compile time for the registered bean
+   * type. Their values are registered via {@link #withPriority(Class, int)} and a bean of that
+   * type registered without them does not have them.
+   */
+  String PRIORITY_ANNOTATIONS = "io.avaje.inject.Priority,jakarta.annotation.Priority,javax.annotation.Priority";
+
   /**
    * Create the root level Builder.
    *
@@ -70,6 +79,17 @@ public interface Builder {
    */
   Builder asPrototype();
 
+  /**
+   * Register the next bean with the value of a priority annotation (like {@code @Priority}).
+   * <p>
+   * This is captured at compile time such that listByPriority() does not need to
+   * read the annotation via reflection.
+   *
+   * @param priorityAnnotation The priority annotation type
+   * @param value              The priority value of the annotation
+   */
+  Builder withPriority(Class<? extends Annotation> priorityAnnotation, int value);
+
   /**
    * Register the provider into the context.
    */
@@ -97,9 +117,18 @@ public interface Builder {
 
   /**
    * Add lifecycle PreDestroy method.
+   * <p>
+   * This can also be called by a lazy bean when it is created after the scope was built.
    */
   void addPreDestroy(AutoCloseable closeable);
 
+  /**
+   * Add lifecycle PreDestroy method for the given bean.
+   * <p>
+   * This is used by a lazy bean when it is created (which is after other beans were registered).
+   */
+  void addPreDestroy(AutoCloseable closeable, Object bean);
+
   /**
    * Add field and method injection.
    */
@@ -167,6 +196,10 @@ public interface Builder {
 
   /**
    * Return Provider of T given the type.
+   * <p>
+   * While building, the bean the Provider returns is matched at the end of the build (when
+   * all the candidates are registered) and until then each get() looks up the bean. This
+   * is also used by prototype scoped beans to match their dependencies once.
    */
   <T> Provider<T> getProvider(Class<T> cls);
 
@@ -193,6 +226,16 @@ public interface Builder {
    */
   <T> Provider<T> getProviderFor(Class<?> cls, Type type);
 
+  /**
+   * Return a handle to the bean given the type and name.
+   * <p>
+   * While building this is resolved at the end of the build via {@link #getProvider(Type, String)}.
+   */
+  default <T> BeanHandle<T> handle(Type cls, String name) {
+    Provider<T> provider = getProvider(cls, name);
+    return provider::get;
+  }
+
   /**
    * Get a list of dependencies for the type.
    */
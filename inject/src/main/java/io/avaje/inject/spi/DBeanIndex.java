@@ -0,0 +1,369 @@
+package io.avaje.inject.spi;
+
+import io.avaje.inject.BeanScope;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Read only index of the beans compiled from the DBeanMap when the scope is built.
+ * <p>
+ * Uses open addressed tables holding key and value in adjacent slots. The value is
+ * the DContextEntryBean itself when a type has a single candidate (the common case)
+ * and otherwise the frozen DContextEntry. A flattened index additionally holds
+ * Chained values for types that have entries in both the child and parent scopes.
+ * <p>
+ * All fields are final and never mutated after construction such that the index is
+ * safely published and read without locks.
+ */
+final class DBeanIndex {
+
+  /**
+   * Open addressed table keyed by Type (Class keys are identity based).
+   */
+  private final Object[] typeTable;
+
+  /**
+   * Open addressed table keyed by type name.
+   */
+  private final Object[] nameTable;
+
+  /**
+   * Type names in registration order.
+   */
+  private final String[] names;
+
+  /**
+   * Values in registration order (matching names).
+   */
+  private final Object[] values;
+
+  DBeanIndex(Map<String, DContextEntry> beans, Map<Type, DContextEntry> typeIndex) {
+    final Map<DContextEntry, Object> frozen = new IdentityHashMap<>();
+    final Map<String, Object> entries = new LinkedHashMap<>();
+    for (Map.Entry<String, DContextEntry> entry : beans.entrySet()) {
+      entries.put(entry.getKey(), frozen.computeIfAbsent(entry.getValue(), DBeanIndex::freeze));
+    }
+    this.names = new String[entries.size()];
+    this.values = new Object[entries.size()];
+    this.nameTable = nameTable(entries);
+    this.typeTable = new Object[tableLength(typeIndex.size())];
+    for (Map.Entry<Type, DContextEntry> entry : typeIndex.entrySet()) {
+      put(typeTable, entry.getKey(), frozen.get(entry.getValue()));
+    }
+  }
+
+  /**
+   * Create a flattened index of the given (child) index merged with the parent index.
+   * <p>
+   * Types that are in both are chained such that the child entries are used first
+   * and the parent entries after that (matching the behaviour of walking the parent chain).
+   */
+  DBeanIndex(DBeanIndex child, DBeanIndex parent) {
+    final Map<String, Object> entries = new LinkedHashMap<>();
+    for (int i = 0; i < child.names.length; i++) {
+      entries.put(child.names[i], child.values[i]);
+    }
+    for (int i = 0; i < parent.names.length; i++) {
+      entries.merge(parent.names[i], parent.values[i], Chained::new);
+    }
+    this.names = new String[entries.size()];
+    this.values = new Object[entries.size()];
+    this.nameTable = nameTable(entries);
+    final Set<Type> types = new LinkedHashSet<>();
+    child.addTypes(types);
+    parent.addTypes(types);
+    this.typeTable = new Object[tableLength(types.size())];
+    for (Type type : types) {
+      put(typeTable, type, entries.get(type.getTypeName()));
+    }
+  }
+
+  private Object[] nameTable(Map<String, Object> entries) {
+    final Object[] table = new Object[tableLength(entries.size())];
+    int pos = 0;
+    for (Map.Entry<String, Object> entry : entries.entrySet()) {
+      names[pos] = entry.getKey();
+      values[pos++] = entry.getValue();
+      put(table, entry.getKey(), entry.getValue());
+    }
+    return table;
+  }
+
+  private void addTypes(Set<Type> types) {
+    for (int i = 0; i < typeTable.length; i += 2) {
+      if (typeTable[i] != null) {
+        types.add((Type) typeTable[i]);
+      }
+    }
+  }
+
+  private static Object freeze(DContextEntry entry) {
+    return entry.size() == 1 ? entry.first() : entry.freeze();
+  }
+
+  /**
+   * Power of 2 length with 2 slots per entry and a load factor of at most 0.5.
+   */
+  private static int tableLength(int size) {
+    int capacity = 2;
+    while (capacity < size * 2) {
+      capacity <<= 1;
+    }
+    return capacity * 2;
+  }
+
+  private static int slot(Object key, int mask) {
+    final int h = key.hashCode() * 0x9E3779B9;
+    return (h ^ (h >>> 16)) & mask;
+  }
+
+  private static void put(Object[] table, Object key, Object value) {
+    final int mask = (table.length >> 1) - 1;
+    int i = slot(key, mask);
+    while (table[i << 1] != null) {
+      i = (i + 1) & mask;
+    }
+    table[i << 1] = key;
+    table[(i << 1) + 1] = value;
+  }
+
+  private static Object probe(Object[] table, Object key) {
+    final int mask = (table.length >> 1) - 1;
+    int i = slot(key, mask);
+    Object candidate;
+    while ((candidate = table[i << 1]) != null) {
+      if (candidate == key || key.equals(candidate)) {
+        return table[(i << 1) + 1];
+      }
+      i = (i + 1) & mask;
+    }
+    return null;
+  }
+
+  /**
+   * Return the DContextEntryBean, DContextEntry or Chained entries for the given type or null.
+   */
+  private Object find(Type type) {
+    final Type key = type instanceof GenericType ? ((GenericType<?>) type).type() : type;
+    final Object value = probe(typeTable, key);
+    if (value != null || key instanceof Class) {
+      return value;
+    }
+    return probe(nameTable, key.getTypeName());
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder("BeanIndex{");
+    for (int i = 0; i < names.length; i++) {
+      if (i > 0) {
+        sb.append(", ");
+      }
+      sb.append(names[i]).append('=').append(values[i]);
+    }
+    return sb.append('}').toString();
+  }
+
+  /**
+   * Add to the map of entries.
+   */
+  void addAll(Map<DContextEntryBean, DEntry> map) {
+    for (int i = 0; i < names.length; i++) {
+      final Object value = values[i];
+      if (value instanceof DContextEntryBean) {
+        addEntry(map, (DContextEntryBean) value, names[i]);
+      } else {
+        for (DContextEntryBean entryBean : ((DContextEntry) value).entries()) {
+          addEntry(map, entryBean, names[i]);
+        }
+      }
+    }
+  }
+
+  private static void addEntry(Map<DContextEntryBean, DEntry> map, DContextEntryBean entryBean, String key) {
+    map.computeIfAbsent(entryBean, dContextEntryBean -> entryBean.entry()).addKey(key);
+  }
+
+  boolean contains(String type) {
+    return probe(nameTable, type) != null;
+  }
+
+  boolean contains(Type type) {
+    return find(type) != null;
+  }
+
+  /**
+   * Return true if none of the beans for the type are prototype scoped.
+   */
+  boolean isSingletons(Type type) {
+    final Object value = find(type);
+    return value == null || isSingletons(value);
+  }
+
+  private static boolean isSingletons(Object value) {
+    if (value instanceof DContextEntryBean) {
+      return !((DContextEntryBean) value).isPrototype();
+    }
+    if (value instanceof DContextEntry) {
+      return ((DContextEntry) value).isSingletons();
+    }
+    final Chained chained = (Chained) value;
+    return isSingletons(chained.child) && isSingletons(chained.parent);
+  }
+
+  /**
+   * Get with a strict match on name for the single entry case.
+   */
+  Object getStrict(Type type, String name) {
+    final Object value = find(type);
+    if (value == null) {
+      return null;
+    }
+    if (value instanceof DContextEntryBean) {
+      return ((DContextEntryBean) value).beanIfNameMatch(KeyUtil.lower(name));
+    }
+    return ((DContextEntry) value).getStrict(KeyUtil.lower(name));
+  }
+
+  @SuppressWarnings("unchecked")
+  <T> T get(Type type, String name) {
+    final Object value = find(type);
+    return value == null ? null : (T) get(value, KeyUtil.lower(name));
+  }
+
+  private static Object get(Object value, String name) {
+    if (value instanceof DContextEntryBean) {
+      return ((DContextEntryBean) value).bean();
+    }
+    if (value instanceof DContextEntry) {
+      return ((DContextEntry) value).get(name);
+    }
+    final Chained chained = (Chained) value;
+    final Object bean = get(chained.child, name);
+    return bean != null ? bean : get(chained.parent, name);
+  }
+
+  /**
+   * Return the matching entry (as per get) or null.
+   */
+  DContextEntryBean entryBean(Type type, String name) {
+    final Object value = find(type);
+    return value == null ? null : entryBean(value, KeyUtil.lower(name));
+  }
+
+  private static DContextEntryBean entryBean(Object value, String name) {
+    if (value instanceof DContextEntryBean) {
+      return (DContextEntryBean) value;
+    }
+    if (value instanceof DContextEntry) {
+      return ((DContextEntry) value).entryBean(name);
+    }
+    final Chained chained = (Chained) value;
+    final DContextEntryBean entryBean = entryBean(chained.child, name);
+    return entryBean != null ? entryBean : entryBean(chained.parent, name);
+  }
+
+  /**
+   * Return all bean instances matching the given type.
+   */
+  List<Object> all(Type type) {
+    final Object value = find(type);
+    return value == null ? Collections.emptyList() : all(value);
+  }
+
+  private static List<Object> all(Object value) {
+    if (value instanceof DContextEntryBean) {
+      return DContextEntry.all((DContextEntryBean) value);
+    }
+    if (value instanceof DContextEntry) {
+      return ((DContextEntry) value).all();
+    }
+    final Chained chained = (Chained) value;
+    final List<Object> list = new ArrayList<>(all(chained.child));
+    list.addAll(all(chained.parent));
+    return list;
+  }
+
+  /**
+   * Return all the entries matching the given type (in the same order as all()).
+   */
+  List<DContextEntryBean> entries(Type type) {
+    final Object value = find(type);
+    if (value == null) {
+      return Collections.emptyList();
+    }
+    final List<DContextEntryBean> list = new ArrayList<>();
+    addEntries(value, list);
+    return list;
+  }
+
+  private static void addEntries(Object value, List<DContextEntryBean> list) {
+    if (value instanceof DContextEntryBean) {
+      list.add((DContextEntryBean) value);
+    } else if (value instanceof DContextEntry) {
+      Collections.addAll(list, ((DContextEntry) value).entries());
+    } else {
+      final Chained chained = (Chained) value;
+      addEntries(chained.child, list);
+      addEntries(chained.parent, list);
+    }
+  }
+
+  /**
+   * Return a map of bean instances keyed by qualifier name.
+   */
+  Map<String, Object> map(Type type, BeanScope parent) {
+    if (parent == null) {
+      return map(type);
+    }
+    Map<String, Object> result = new LinkedHashMap<>(parent.map(type));
+    result.putAll(map(type));
+    return result;
+  }
+
+  private Map<String, Object> map(Type type) {
+    final Object value = find(type);
+    return value == null ? Collections.emptyMap() : map(value);
+  }
+
+  private static Map<String, Object> map(Object value) {
+    if (value instanceof DContextEntryBean) {
+      return DContextEntry.map((DContextEntryBean) value);
+    }
+    if (value instanceof DContextEntry) {
+      return ((DContextEntry) value).map();
+    }
+    // parent entries first such that the child entries override them
+    final Chained chained = (Chained) value;
+    final Map<String, Object> map = map(chained.parent);
+    map.putAll(map(chained.child));
+    return map;
+  }
+
+  /**
+   * Entries for a type that exists in both the child and parent scope.
+   */
+  private static final class Chained {
+
+    private final Object child;
+    private final Object parent;
+
+    Chained(Object child, Object parent) {
+      this.child = child;
+      this.parent = parent;
+    }
+
+    @Override
+    public String toString() {
+      return child + " -> " + parent;
+    }
+  }
+}
@@ -7,6 +7,7 @@ import jakarta.inject.Provider;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -19,6 +20,12 @@ final class DBeanMap {
 
   private final Map<String, DContextEntry> beans = new LinkedHashMap<>();
 
+  /**
+   * The same entries indexed by Type. For Class keys hashCode and equals are identity based
+   * such that a lookup by Class is a single probe without obtaining the type name.
+   */
+  private final Map<Type, DContextEntry> typeIndex = new HashMap<>();
+
   private NextBean nextBean;
 
   DBeanMap() {
@@ -30,14 +37,10 @@ final class DBeanMap {
   }
 
   /**
-   * Add to the map of entries.
+   * Compile the read only index used by the BeanScope once building is complete.
    */
-  void addAll(Map<DContextEntryBean, DEntry> map) {
-    for (Map.Entry<String, DContextEntry> entry : beans.entrySet()) {
-      for (DContextEntryBean contentEntry : entry.getValue().entries()) {
-        map.computeIfAbsent(contentEntry, dContextEntryBean -> contentEntry.entry()).addKey(entry.getKey());
-      }
-    }
+  DBeanIndex freeze() {
+    return new DBeanIndex(beans, typeIndex);
   }
 
   /**
@@ -52,57 +55,64 @@ final class DBeanMap {
   private void addSuppliedBean(SuppliedBean supplied) {
     Type suppliedType = supplied.type();
     DContextEntryBean entryBean = DContextEntryBean.supplied(supplied.source(), supplied.name(), supplied.priority());
-    beans.computeIfAbsent(suppliedType.getTypeName(), s -> new DContextEntry()).add(entryBean);
+    entryFor(suppliedType).add(entryBean);
     for (Class<?> anInterface : supplied.interfaces()) {
-      beans.computeIfAbsent(anInterface.getTypeName(), s -> new DContextEntry()).add(entryBean);
+      entryFor(anInterface).add(entryBean);
     }
   }
 
-  void register(Object bean) {
-    DContextEntryBean entryBean = DContextEntryBean.of(bean, nextBean.name, nextBean.priority);
-    for (Type type : nextBean.types) {
-      beans.computeIfAbsent(type.getTypeName(), s -> new DContextEntry()).add(entryBean);
-    }
-  }
-
-  void register(Provider<?> provider) {
-    DContextEntryBean entryBean = DContextEntryBean.provider(nextBean.prototype, provider, nextBean.name, nextBean.priority);
-    for (Type type : nextBean.types) {
-      beans.computeIfAbsent(type.getTypeName(), s -> new DContextEntry()).add(entryBean);
-    }
+  DContextEntryBean register(Object bean) {
+    DContextEntryBean entryBean = DContextEntryBean.of(bean, nextBean.name, nextBean.priority, nextBean.priorities, nextBean.beanType());
+    registerEntry(entryBean);
+    return entryBean;
   }
 
   /**
-   * Get with a strict match on name for the single entry case.
+   * Register the entry for the types of the next bean.
+   * <p>
+   * Used to merge the entries of a concurrent build step such that both use the same
+   * entry (and a provided bean is only created once).
    */
-  Object getStrict(Type type, String name) {
-    DContextEntry entry = beans.get(type.getTypeName());
-    if (entry == null) {
-      return null;
+  void registerEntry(DContextEntryBean entryBean) {
+    for (Type type : nextBean.types) {
+      entryFor(type).add(entryBean);
     }
-    return entry.getStrict(KeyUtil.lower(name));
   }
 
-  boolean contains(String type) {
-    return beans.containsKey(type);
-  }
-
-  boolean contains(Type type) {
-    return beans.containsKey(type.getTypeName());
+  DContextEntryBean register(Provider<?> provider) {
+    DContextEntryBean entryBean = DContextEntryBean.provider(nextBean.prototype, provider, nextBean.name, nextBean.priority, nextBean.priorities, nextBean.beanType());
+    registerEntry(entryBean);
+    return entryBean;
   }
 
   @SuppressWarnings("unchecked")
   <T> T get(Type type, String name) {
-    DContextEntry entry = beans.get(type.getTypeName());
+    DContextEntry entry = entry(type);
     if (entry == null) {
       return null;
     }
     return (T) entry.get(KeyUtil.lower(name));
   }
 
+  /**
+   * Return the matching entry (as per get) or null.
+   */
+  DContextEntryBean entryBean(Type type, String name) {
+    DContextEntry entry = entry(type);
+    return entry == null ? null : entry.entryBean(KeyUtil.lower(name));
+  }
+
+  /**
+   * Return the matching entry of the combined entries of this map and the other map (with
+   * the entries of the other map being registered after the entries of this map) or null.
+   */
+  DContextEntryBean entryBean(Type type, String name, DBeanMap other) {
+    return DContextEntry.entryBean(entry(type), other.entry(type), KeyUtil.lower(name));
+  }
+
   @SuppressWarnings("unchecked")
   <T> Provider<T> provider(Type type, String name) {
-    DContextEntry entry = beans.get(type.getTypeName());
+    DContextEntry entry = entry(type);
     if (entry == null) {
       return null;
     }
@@ -113,7 +123,7 @@ final class DBeanMap {
    * Return all bean instances matching the given type.
    */
   List<Object> all(Type type) {
-    DContextEntry entry = beans.get(type.getTypeName());
+    DContextEntry entry = entry(type);
     return entry != null ? entry.all() : Collections.emptyList();
   }
 
@@ -124,13 +134,13 @@ final class DBeanMap {
     if (parent == null) {
       return map(type);
     }
-    Map<String, Object> result = parent.map(type);
+    Map<String, Object> result = new LinkedHashMap<>(parent.map(type));
     result.putAll(map(type));
     return result;
   }
 
   private Map<String, Object> map(Type type) {
-    DContextEntry entry = beans.get(type.getTypeName());
+    DContextEntry entry = entry(type);
     return entry != null ? entry.map() : Collections.emptyMap();
   }
 
@@ -140,7 +150,7 @@ final class DBeanMap {
   boolean isSupplied(String qualifierName, Type... types) {
     if (types != null) {
       for (Type type : types) {
-        DContextEntry entry = beans.get(type.getTypeName());
+        DContextEntry entry = entry(type);
         if (entry != null) {
           DContextEntryBean suppliedBean = entry.supplied(qualifierName);
           if (suppliedBean != null) {
@@ -162,11 +172,43 @@ final class DBeanMap {
   private void addSuppliedFor(Type matchType, Type[] types, DContextEntryBean suppliedBean) {
     for (Type type : types) {
       if (type != matchType && type instanceof ParameterizedType) {
-        beans.computeIfAbsent(type.getTypeName(), s -> new DContextEntry()).add(suppliedBean);
+        entryFor(type).add(suppliedBean);
       }
     }
   }
 
+  /**
+   * Return the entry for the given type creating it if necessary.
+   */
+  private DContextEntry entryFor(Type type) {
+    final Type key = indexKey(type);
+    DContextEntry entry = typeIndex.get(key);
+    if (entry == null) {
+      entry = beans.computeIfAbsent(key.getTypeName(), s -> new DContextEntry());
+      typeIndex.put(key, entry);
+    }
+    return entry;
+  }
+
+  /**
+   * Return the entry for the given type or null.
+   * <p>
+   * Class keys are resolved by identity. Other types (ParameterizedType etc) fall back
+   * to matching by type name as they can be different implementations of the same type.
+   */
+  private DContextEntry entry(Type type) {
+    final Type key = indexKey(type);
+    final DContextEntry entry = typeIndex.get(key);
+    if (entry != null || key instanceof Class) {
+      return entry;
+    }
+    return beans.get(key.getTypeName());
+  }
+
+  private static Type indexKey(Type type) {
+    return type instanceof GenericType ? ((GenericType<?>) type).type() : type;
+  }
+
   /**
    * Store the qualifier name and type for the next bean to register.
    */
@@ -181,6 +223,16 @@ final class DBeanMap {
     nextBean.priority = priority;
   }
 
+  /**
+   * Set a priority annotation value for the next bean to register.
+   */
+  void nextPriority(Class<?> priorityAnnotation, int value) {
+    if (nextBean.priorities == null) {
+      nextBean.priorities = new HashMap<>(4);
+    }
+    nextBean.priorities.put(priorityAnnotation, value);
+  }
+
   /**
    * Set the next bean to register as having Prototype scope.
    */
@@ -200,10 +252,18 @@ final class DBeanMap {
     final Type[] types;
     int priority = BeanEntry.NORMAL;
     boolean prototype;
+    Map<Class<?>, Integer> priorities;
 
     NextBean(String name, Type[] types) {
       this.name = name;
       this.types = types;
     }
+
+    /**
+     * Return the registered bean type (the first of the types).
+     */
+    Type beanType() {
+      return types.length == 0 ? null : types[0];
+    }
   }
 }
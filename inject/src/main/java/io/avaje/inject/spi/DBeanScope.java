@@ -2,6 +2,7 @@ package io.avaje.inject.spi;
 
 import io.avaje.applog.AppLog;
 import io.avaje.inject.BeanEntry;
+import io.avaje.inject.BeanHandle;
 import io.avaje.inject.BeanScope;
 import io.avaje.inject.Priority;
 import io.avaje.lang.NonNullApi;
@@ -11,27 +12,59 @@ import java.lang.System.Logger.Level;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
 
 @NonNullApi
 final class DBeanScope implements BeanScope {
 
   private static final System.Logger log = AppLog.getLogger("io.avaje.inject");
 
+  /**
+   * Cache marker for a type that has prototype scoped beans.
+   */
+  private static final Object NOT_CACHED = new Object();
+
   private final ReentrantLock lock = new ReentrantLock();
   private final List<Runnable> postConstruct;
   private final List<AutoCloseable> preDestroy;
-  private final DBeanMap beans;
+  private final DBeanIndex beans;
   private final ShutdownHook shutdownHook;
   private final BeanScope parent;
+  /**
+   * Index used for lookups, this includes the parent entries when flattened.
+   */
+  private final DBeanIndex lookup;
+  /**
+   * The parent to use when the lookup index has no match (null when fully flattened).
+   */
+  private final BeanScope lookupParent;
+  /**
+   * Cached list, listByAnnotation and map results for types with no prototype beans.
+   */
+  private final Map<Type, Object> listCache = new ConcurrentHashMap<>();
+  private final Map<Type, Object> annotationCache = new ConcurrentHashMap<>();
+  private final Map<Type, Object> mapCache = new ConcurrentHashMap<>();
+  private final Map<Class<?>, Map<Type, Object>> priorityCache = new ConcurrentHashMap<>();
   private boolean shutdown;
   private boolean closed;
+  private DLifecycle lifecycle;
 
-  DBeanScope(boolean withShutdownHook, List<AutoCloseable> preDestroy, List<Runnable> postConstruct, DBeanMap beans, BeanScope parent) {
+  DBeanScope(boolean withShutdownHook, List<AutoCloseable> preDestroy, List<Runnable> postConstruct, DBeanIndex beans, BeanScope parent, boolean flattenParent) {
     this.preDestroy = preDestroy;
     this.postConstruct = postConstruct;
     this.beans = beans;
     this.parent = parent;
+    if (flattenParent && parent instanceof DBeanScope) {
+      DBeanScope dParent = (DBeanScope) parent;
+      this.lookup = new DBeanIndex(beans, dParent.flattenedLookup());
+      this.lookupParent = dParent.flattenedParent();
+    } else {
+      this.lookup = beans;
+      this.lookupParent = parent;
+    }
     if (withShutdownHook) {
       this.shutdownHook = new ShutdownHook(this);
       Runtime.getRuntime().addShutdownHook(shutdownHook);
@@ -45,6 +78,58 @@ final class DBeanScope implements BeanScope {
     return "BeanScope{" + beans + '}';
   }
 
+  /**
+   * Return the lookup index including all the entries of DBeanScope ancestors.
+   */
+  private DBeanIndex flattenedLookup() {
+    if (lookupParent instanceof DBeanScope) {
+      return new DBeanIndex(lookup, ((DBeanScope) lookupParent).flattenedLookup());
+    }
+    return lookup;
+  }
+
+  /**
+   * Return true if none of the beans for the type (including parent scopes) are prototype scoped.
+   */
+  private boolean isSingletons(Type type) {
+    if (!lookup.isSingletons(type)) {
+      return false;
+    }
+    if (lookupParent == null) {
+      return true;
+    }
+    return lookupParent instanceof DBeanScope && ((DBeanScope) lookupParent).isSingletons(type);
+  }
+
+  /**
+   * Compute the result for a cache miss. The result is cached (as unmodifiable)
+   * when none of the beans for the type are prototype scoped.
+   */
+  @SuppressWarnings("unchecked")
+  private <R> R cache(Map<Type, Object> cache, Type type, @Nullable Object cached, Function<Type, R> compute, UnaryOperator<R> unmodifiable) {
+    final R result = compute.apply(type);
+    if (cached == NOT_CACHED) {
+      return result;
+    }
+    if (!isSingletons(type)) {
+      cache.putIfAbsent(type, NOT_CACHED);
+      return result;
+    }
+    final R shared = unmodifiable.apply(result);
+    final Object existing = cache.putIfAbsent(type, shared);
+    return existing != null && existing != NOT_CACHED ? (R) existing : shared;
+  }
+
+  /**
+   * Return the first ancestor that is not a DBeanScope (typically null).
+   */
+  private BeanScope flattenedParent() {
+    if (lookupParent instanceof DBeanScope) {
+      return ((DBeanScope) lookupParent).flattenedParent();
+    }
+    return lookupParent;
+  }
+
   @Override
   public List<BeanEntry> all() {
     IdentityHashMap<DContextEntryBean, DEntry> map = new IdentityHashMap<>();
@@ -85,14 +170,14 @@ final class DBeanScope implements BeanScope {
   }
 
   private <T> T getByType(Type type, @Nullable String name) {
-    final T bean = beans.get(type, name);
+    final T bean = lookup.get(type, name);
     if (bean != null) {
       return bean;
     }
-    if (parent == null) {
+    if (lookupParent == null) {
       throw new NoSuchElementException("No bean found for type: " + type + " name: " + name);
     }
-    return parent.get(type, name);
+    return lookupParent.get(type, name);
   }
 
   /**
@@ -124,41 +209,72 @@ final class DBeanScope implements BeanScope {
   }
 
   private <T> Optional<T> getMaybe(Type type, @Nullable String name) {
-    final T bean = beans.get(type, name);
+    final T bean = lookup.get(type, name);
     if (bean != null) {
       return Optional.of(bean);
     }
-    if (parent == null) {
+    if (lookupParent == null) {
       return Optional.empty();
     }
-    return parent.getOptional(type, name);
+    return lookupParent.getOptional(type, name);
+  }
+
+  @Override
+  public <T> BeanHandle<T> handle(Type type, @Nullable String name) {
+    final DContextEntryBean entryBean = lookup.entryBean(type, name);
+    if (entryBean != null) {
+      return entryBean.handle();
+    }
+    if (lookupParent == null) {
+      throw new NoSuchElementException("No bean found for type: " + type + " name: " + name);
+    }
+    return lookupParent.handle(type, name);
   }
 
   @SuppressWarnings("unchecked")
   @Override
   public <T> Map<String, T> map(Type type) {
-    return (Map<String, T>) beans.map(type, parent);
+    final Object cached = mapCache.get(type);
+    if (cached instanceof Map) {
+      return (Map<String, T>) cached;
+    }
+    return (Map<String, T>) cache(mapCache, type, cached, this::mapOf, Collections::unmodifiableMap);
+  }
+
+  private Map<String, Object> mapOf(Type type) {
+    return lookup.map(type, lookupParent);
   }
 
   @Override
   public <T> List<T> list(Class<T> type) {
-    return listOf(type);
+    return cachedList(type);
   }
 
   @Override
   public <T> List<T> list(Type type) {
-    return listOf(type);
+    return cachedList(type);
   }
 
   @SuppressWarnings("unchecked")
-  private <T> List<T> listOf(Type type) {
-    List<T> values = (List<T>) beans.all(type);
-    if (parent == null) {
+  private <T> List<T> cachedList(Type type) {
+    final Object cached = listCache.get(type);
+    if (cached instanceof List) {
+      return (List<T>) cached;
+    }
+    return (List<T>) cache(listCache, type, cached, this::listOf, Collections::unmodifiableList);
+  }
+
+  private List<Object> listOf(Type type) {
+    List<Object> values = lookup.all(type);
+    if (lookupParent == null) {
       return values;
     }
-    return combine(values, parent.list(type));
+    return combine(values, lookupParent.list(type));
   }
 
+  /**
+   * Combine the values with the parent values. The parent values are not modified.
+   */
   static <T> List<T> combine(List<T> values, List<T> parentValues) {
     if (values.isEmpty()) {
       return parentValues;
@@ -175,28 +291,53 @@ final class DBeanScope implements BeanScope {
     return listByPriority(type, Priority.class);
   }
 
+  @SuppressWarnings("unchecked")
   @Override
   public <T> List<T> listByPriority(Class<T> type, Class<? extends Annotation> priorityAnnotation) {
-    List<T> list = list(type);
-    return list.size() > 1 ? sortByPriority(list, priorityAnnotation) : list;
+    final Map<Type, Object> cache = priorityCache.computeIfAbsent(priorityAnnotation, k -> new ConcurrentHashMap<>());
+    final Object cached = cache.get(type);
+    if (cached instanceof List) {
+      return (List<T>) cached;
+    }
+    return (List<T>) cache(cache, type, cached, t -> listByPriorityOf(type, priorityAnnotation), Collections::unmodifiableList);
   }
 
-  private <T> List<T> sortByPriority(List<T> list, final Class<? extends Annotation> priorityAnnotation) {
+  private <T> List<T> listByPriorityOf(Class<T> type, Class<? extends Annotation> priorityAnnotation) {
+    List<SortBean<T>> sortBeans = new ArrayList<>();
+    addSortBeans(type, sortBeans);
+    return sortByPriority(sortBeans, priorityAnnotation);
+  }
+
+  /**
+   * Add the beans (creating prototype beans once) with their entry for the priority values
+   * captured at compile time.
+   */
+  @SuppressWarnings("unchecked")
+  private <T> void addSortBeans(Class<T> type, List<SortBean<T>> sortBeans) {
+    for (DContextEntryBean entry : lookup.entries(type)) {
+      sortBeans.add(new SortBean<>((T) entry.bean(), entry));
+    }
+    if (lookupParent instanceof DBeanScope) {
+      ((DBeanScope) lookupParent).addSortBeans(type, sortBeans);
+    } else if (lookupParent != null) {
+      for (T bean : lookupParent.list(type)) {
+        sortBeans.add(new SortBean<>(bean, null));
+      }
+    }
+  }
+
+  private <T> List<T> sortByPriority(List<SortBean<T>> tempList, Class<? extends Annotation> priorityAnnotation) {
     boolean priorityUsed = false;
-    List<SortBean<T>> tempList = new ArrayList<>(list.size());
-    for (T bean : list) {
-      SortBean<T> sortBean = new SortBean<>(bean, priorityAnnotation);
-      tempList.add(sortBean);
-      if (!priorityUsed && sortBean.priorityDefined) {
-        priorityUsed = true;
+    if (tempList.size() > 1) {
+      for (SortBean<T> sortBean : tempList) {
+        // read all the priorities as any of them can be defined
+        priorityUsed |= sortBean.initPriority(priorityAnnotation);
       }
     }
-    if (!priorityUsed) {
-      // nothing with Priority annotation so return original order
-      return list;
+    if (priorityUsed) {
+      Collections.sort(tempList);
     }
-    Collections.sort(tempList);
-    // unpack into new sorted list
+    // unpack into new list (original order when nothing has a Priority annotation)
     List<T> sorted = new ArrayList<>(tempList.size());
     for (SortBean<T> sortBean : tempList) {
       sorted.add(sortBean.bean);
@@ -204,13 +345,22 @@ final class DBeanScope implements BeanScope {
     return sorted;
   }
 
+  @SuppressWarnings("unchecked")
   @Override
   public List<Object> listByAnnotation(Class<?> annotation) {
-    final List<Object> values = beans.all(annotation);
-    if (parent == null) {
+    final Object cached = annotationCache.get(annotation);
+    if (cached instanceof List) {
+      return (List<Object>) cached;
+    }
+    return cache(annotationCache, annotation, cached, this::listByAnnotationOf, Collections::unmodifiableList);
+  }
+
+  private List<Object> listByAnnotationOf(Type annotation) {
+    final List<Object> values = lookup.all(annotation);
+    if (lookupParent == null) {
       return values;
     }
-    return combine(values, parent.listByAnnotation(annotation));
+    return combine(values, lookupParent.listByAnnotation((Class<?>) annotation));
   }
 
   DBeanScope start() {
@@ -226,6 +376,46 @@ final class DBeanScope implements BeanScope {
     return this;
   }
 
+  /**
+   * Start with lifecycle methods that can run concurrently.
+   */
+  DBeanScope start(DLifecycle lifecycle) {
+    lifecycle.built();
+    this.lifecycle = lifecycle;
+    if (!lifecycle.isParallelPostConstruct()) {
+      return start();
+    }
+    lock.lock();
+    try {
+      log.log(Level.TRACE, "firing postConstruct in parallel");
+      lifecycle.runPostConstruct();
+    } finally {
+      lock.unlock();
+    }
+    return this;
+  }
+
+  /**
+   * Add a PreDestroy method of a lazy bean created after the scope was built.
+   * <p>
+   * This does not use the lock as lazy beans can be created by PostConstruct methods
+   * running concurrently (while start holds the lock).
+   */
+  void addPreDestroy(AutoCloseable closeable) {
+    synchronized (preDestroy) {
+      if (!closed) {
+        preDestroy.add(closeable);
+        return;
+      }
+    }
+    // created after the scope was closed so close it now
+    try {
+      closeable.close();
+    } catch (Exception e) {
+      log.log(Level.ERROR, "Error during PreDestroy lifecycle method", e);
+    }
+  }
+
   @Override
   public void close() {
     lock.lock();
@@ -235,13 +425,20 @@ final class DBeanScope implements BeanScope {
       }
       if (!closed) {
         // we only allow one call to preDestroy
-        closed = true;
-        log.log(Level.TRACE, "firing preDestroy");
-        for (AutoCloseable closeable : preDestroy) {
-          try {
-            closeable.close();
-          } catch (Exception e) {
-            log.log(Level.ERROR, "Error during PreDestroy lifecycle method", e);
+        synchronized (preDestroy) {
+          closed = true;
+        }
+        if (lifecycle != null && lifecycle.isParallelPreDestroy()) {
+          log.log(Level.TRACE, "firing preDestroy in parallel");
+          lifecycle.runPreDestroy(preDestroy);
+        } else {
+          log.log(Level.TRACE, "firing preDestroy");
+          for (AutoCloseable closeable : preDestroy) {
+            try {
+              closeable.close();
+            } catch (Exception e) {
+              log.log(Level.ERROR, "Error during PreDestroy lifecycle method", e);
+            }
           }
         }
       }
@@ -275,33 +472,51 @@ final class DBeanScope implements BeanScope {
 
   private static class SortBean<T> implements Comparable<SortBean<T>> {
 
+    /**
+     * Default priority as per javax.ws.rs.Priorities.USER (user-level filter/interceptor priority).
+     */
+    private static final int DEFAULT_PRIORITY = 5000;
+
     private final T bean;
 
-    private boolean priorityDefined;
+    private final DContextEntryBean entry;
 
-    private final int priority;
+    private int priority;
 
-    SortBean(T bean, Class<? extends Annotation> priorityAnnotation) {
+    SortBean(T bean, DContextEntryBean entry) {
       this.bean = bean;
-      this.priority = initPriority(priorityAnnotation);
+      this.entry = entry;
     }
 
-    int initPriority(Class<? extends Annotation> priorityAnnotation) {
+    /**
+     * Set the priority returning true if it is defined for the bean. This uses the value
+     * captured at compile time and otherwise reads the annotation via reflection.
+     */
+    boolean initPriority(Class<? extends Annotation> priorityAnnotation) {
+      if (entry != null) {
+        Integer captured = entry.priority(priorityAnnotation);
+        if (captured != null) {
+          priority = captured;
+          return true;
+        }
+        if (entry.priorityCaptured(priorityAnnotation, bean)) {
+          priority = DEFAULT_PRIORITY;
+          return false;
+        }
+      }
       // Avoid adding hard dependency on javax.annotation-api by using reflection
       try {
         Annotation ann = bean.getClass().getDeclaredAnnotation(priorityAnnotation);
         if (ann != null) {
-          int priority = (Integer) priorityAnnotation.getMethod("value").invoke(ann);
-          priorityDefined = true;
-          return priority;
+          priority = (Integer) priorityAnnotation.getMethod("value").invoke(ann);
+          return true;
         }
       } catch (Exception e) {
         // If this happens, something has gone very wrong since a non-confirming @Priority was found...
         throw new UnsupportedOperationException("Problem instantiating @Priority", e);
       }
-      // Default priority as per javax.ws.rs.Priorities.USER
-      // User-level filter/interceptor priority
-      return 5000;
+      priority = DEFAULT_PRIORITY;
+      return false;
     }
 
     @Override
@@ -1,6 +1,7 @@
 package io.avaje.inject.spi;
 
 import io.avaje.inject.BeanEntry;
+import io.avaje.inject.BeanHandle;
 import io.avaje.inject.BeanScope;
 
 import java.lang.annotation.Annotation;
@@ -50,6 +51,11 @@ final class DBeanScopeProxy implements BeanScope {
     return delegate.getOptional(type, name);
   }
 
+  @Override
+  public <T> BeanHandle<T> handle(Type type, String name) {
+    return delegate.handle(type, name);
+  }
+
   @Override
   public List<Object> listByAnnotation(Class<?> annotation) {
     return delegate.listByAnnotation(annotation);
@@ -1,11 +1,17 @@
 package io.avaje.inject.spi;
 
 import io.avaje.inject.BeanEntry;
+import io.avaje.inject.BeanHandle;
 import io.avaje.inject.BeanScope;
 import jakarta.inject.Provider;
 
+import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 
 import static io.avaje.inject.spi.DBeanScope.combine;
@@ -40,6 +46,24 @@ class DBuilder implements Builder {
    */
   private boolean runningPostConstruct;
   private DBeanScopeProxy beanScopeProxy;
+  /**
+   * The scope once built, lazy beans created after that add their PreDestroy to it.
+   */
+  private volatile DBeanScope scope;
+  /**
+   * Captures the bean dependencies when running lifecycle methods in parallel.
+   */
+  private DLifecycle lifecycle;
+  /**
+   * Records the startup timings when Flight Recorder or the startup report is enabled.
+   */
+  private DStartup startup;
+  private DStartup.Timing beanTiming;
+  private String lastType;
+  /**
+   * Merge the parent scope entries into the lookup index of the built scope.
+   */
+  private boolean flattenParent;
 
   DBuilder(BeanScope parent, boolean parentOverride) {
     this.parent = parent;
@@ -53,18 +77,20 @@ class DBuilder implements Builder {
 
   @Override
   public boolean isAddBeanFor(String name, Type... types) {
-    parentMatch = null;
     next(name, types);
-    if (parentOverride || parent == null) {
-      return true;
-    }
-    if (parent instanceof DBeanScope) {
-      // effectively looking for a match in the test scope
-      DBeanScope dParent = (DBeanScope) parent;
-      parentMatch = dParent.getStrict(name, removeAnnotations(types));
-      return parentMatch == null;
+    parentMatch = parentMatch(name, types);
+    return parentMatch == null;
+  }
+
+  /**
+   * Return the bean provided by the parent scope that we are not overriding or null.
+   */
+  final Object parentMatch(String name, Type[] types) {
+    if (parentOverride || !(parent instanceof DBeanScope)) {
+      return null;
     }
-    return true;
+    // effectively looking for a match in the test scope
+    return ((DBeanScope) parent).getStrict(name, removeAnnotations(types));
   }
 
   /**
@@ -90,6 +116,100 @@ class DBuilder implements Builder {
   protected final void next(String name, Type... types) {
     injectTarget = firstOf(types);
     beanMap.nextBean(name, types);
+    nextDependencies();
+    beanTiming = startTiming(name, types);
+  }
+
+  /**
+   * Record the startup timings (see {@link ScopeBuild#recordStartup(boolean)}).
+   */
+  final void recordStartup(boolean report) {
+    startup = DStartup.create(report);
+    if (startup != null && startup.isReport()) {
+      // capture the bean dependencies for the critical path
+      lifecycle();
+    }
+  }
+
+  /**
+   * Start timing the creation of the next bean (or null when not recording startup).
+   */
+  final DStartup.Timing startTiming(String name, Type[] types) {
+    if (startup == null) {
+      return null;
+    }
+    final Type type = firstOf(types);
+    return startup.start(DStartup.CREATE, type == null ? null : type.getTypeName(), name);
+  }
+
+  final void endTiming(DStartup.Timing timing, Object bean) {
+    if (timing != null) {
+      startup.end(timing, bean);
+    }
+  }
+
+  final void parallelPostConstruct(Executor executor) {
+    lifecycle().postConstruct(executor);
+  }
+
+  final void parallelPreDestroy(Executor executor, Duration beanTimeout, Duration timeout) {
+    lifecycle().preDestroy(executor, beanTimeout, timeout);
+  }
+
+  private DLifecycle lifecycle() {
+    if (lifecycle == null) {
+      lifecycle = new DLifecycle();
+    }
+    return lifecycle;
+  }
+
+  /**
+   * Start capturing the dependencies of the next bean (for parallel lifecycle methods).
+   */
+  final void nextDependencies() {
+    if (lifecycle != null) {
+      lifecycle.next();
+    }
+  }
+
+  /**
+   * Capture a bean read as a dependency of the bean being built (for parallel lifecycle methods).
+   */
+  final void read(Object bean) {
+    if (lifecycle != null) {
+      lifecycle.read(bean);
+    }
+  }
+
+  final void readAll(Collection<?> beans) {
+    if (lifecycle != null) {
+      lifecycle.readAll(beans);
+    }
+  }
+
+  /**
+   * Set the beans read by the current thread as the dependencies of the bean.
+   */
+  final void dependencies(Object bean) {
+    if (lifecycle != null) {
+      lifecycle.dependencies(bean);
+    }
+  }
+
+  private void registered(Object bean) {
+    if (startup != null) {
+      if (beanTiming != null) {
+        startup.end(beanTiming, bean);
+        lastType = beanTiming.type;
+        beanTiming = null;
+      } else {
+        lastType = bean.getClass().getName();
+      }
+    }
+    if (lifecycle != null) {
+      lifecycle.dependencies(bean);
+      lifecycle.registered(bean);
+    }
   }
 
   private Type firstOf(Type[] types) {
@@ -119,10 +239,12 @@ class DBuilder implements Builder {
   @SuppressWarnings({"unchecked"})
   private <T> List<T> listOf(Type type) {
     List<T> values = (List<T>) beanMap.all(type);
+    readAll(values);
     if (parent == null) {
       return values;
     }
-    return combine(values, parent.list(type));
+    // copy as the parent list can be shared and unmodifiable
+    return combine(values, new ArrayList<>(parent.list(type)));
   }
 
   @Override
@@ -137,17 +259,57 @@ class DBuilder implements Builder {
 
   @SuppressWarnings("unchecked")
   private <T> Map<String, T> mapOf(Type type) {
-    return (Map<String, T>) beanMap.map(type, parent);
+    Map<String, T> map = (Map<String, T>) beanMap.map(type, parent);
+    readAll(map.values());
+    return map;
   }
 
   private <T> T getMaybe(Type type, String name) {
     T bean = beanMap.get(type, name);
     if (bean != null) {
+      read(bean);
       return bean;
     }
     return (parent == null) ? null : parent.get(type, name);
   }
 
+  /**
+   * Return the bean matching the entries of this builder combined with the entries registered
+   * by a concurrent build step (as if they were registered to this builder) or null.
+   */
+  @SuppressWarnings("unchecked")
+  final <T> T getMaybe(Type type, String name, DBeanMap stepBeans) {
+    DContextEntryBean match = entryBean(type, name, stepBeans);
+    if (match != null) {
+      T bean = (T) match.bean();
+      read(bean);
+      return bean;
+    }
+    return (parent == null) ? null : parent.get(type, name);
+  }
+
+  /**
+   * Return the entry matching the entries of this builder combined with the entries registered
+   * by a concurrent build step or null.
+   */
+  final DContextEntryBean entryBean(Type type, String name, DBeanMap stepBeans) {
+    return beanMap.entryBean(type, name, stepBeans);
+  }
+
+  /**
+   * Return the bean (as per {@link #getMaybe(Type, String, DBeanMap)}) throwing if not found.
+   */
+  final <T> T get(Type type, String name, DBeanMap stepBeans) {
+    if (BeanScope.class.equals(type)) {
+      return injectBeanScope();
+    }
+    T bean = getMaybe(type, name, stepBeans);
+    if (bean == null) {
+      throw new IllegalStateException(errorInjectingNull(type, name));
+    }
+    return bean;
+  }
+
   /**
    * Return the bean to register potentially with spy enhancement.
    */
@@ -160,6 +322,7 @@ class DBuilder implements Builder {
   public final <T> T register(T bean) {
     bean = enrich(bean, beanMap.next());
     beanMap.register(bean);
+    registered(bean);
     return bean;
   }
 
@@ -175,6 +338,12 @@ class DBuilder implements Builder {
     return this;
   }
 
+  @Override
+  public Builder withPriority(Class<? extends Annotation> priorityAnnotation, int value) {
+    beanMap.nextPriority(priorityAnnotation, value);
+    return this;
+  }
+
   @Override
   public Builder asPrototype() {
     beanMap.nextPrototype();
@@ -185,6 +354,26 @@ class DBuilder implements Builder {
   public final <T> void registerProvider(Provider<T> provider) {
     // no enrichment
     beanMap.register(provider);
+    registered(provider);
+  }
+
+  /**
+   * Register the entry of a concurrent build step (DBuilderTask).
+   */
+  final void registerEntry(DContextEntryBean entryBean, boolean timed) {
+    beanMap.registerEntry(entryBean);
+    if (startup != null) {
+      if (beanTiming != null && !timed) {
+        startup.end(beanTiming, entryBean.source);
+      }
+      // the timing started by isAddBeanFor() is discarded when the step timed the bean
+      beanTiming = null;
+      lastType = entryBean.source.getClass().getName();
+    }
+    if (lifecycle != null) {
+      // dependencies already captured by the step
+      lifecycle.registered(entryBean.source);
+    }
   }
 
   @Override
@@ -192,21 +381,50 @@ class DBuilder implements Builder {
     next(null, type);
     beanMap.nextPriority(BeanEntry.SUPPLIED);
     beanMap.register(bean);
+    registered(bean);
   }
 
   @Override
   public final void addPostConstruct(Runnable invoke) {
+    if (startup != null) {
+      invoke = startup.postConstruct(invoke, lastType);
+    }
     postConstruct.add(invoke);
+    if (lifecycle != null) {
+      lifecycle.addPostConstruct(invoke);
+    }
   }
 
   @Override
   public final void addPreDestroy(AutoCloseable invoke) {
-    preDestroy.add(invoke);
+    addPreDestroy(invoke, null);
+  }
+
+  @Override
+  public final void addPreDestroy(AutoCloseable invoke, Object bean) {
+    final DBeanScope builtScope = scope;
+    if (builtScope != null) {
+      builtScope.addPreDestroy(invoke);
+    } else {
+      // lazy beans created by concurrent build steps add to this from other threads
+      synchronized (preDestroy) {
+        preDestroy.add(invoke);
+        if (lifecycle != null) {
+          lifecycle.addPreDestroy(invoke, bean);
+        }
+      }
+    }
   }
 
   @Override
   public final void addInjector(Consumer<Builder> injector) {
+    if (startup != null) {
+      injector = startup.injector(injector, lastType);
+    }
     injectors.add(injector);
+    if (lifecycle != null) {
+      lifecycle.addInjector(injector);
+    }
   }
 
   @Override
@@ -278,7 +496,7 @@ class DBuilder implements Builder {
       return obtainProvider(type, name);
     }
     // use injectors to delay obtaining the provider until end of build
-    ProviderPromise<T> promise = new ProviderPromise<>(type, name, this);
+    ProviderPromise<T> promise = new ProviderPromise<>(type, name, this, this);
     injectors.add(promise);
     return promise;
   }
@@ -288,7 +506,15 @@ class DBuilder implements Builder {
     if (provider != null) {
       return provider;
     }
-    return ()-> this.get(type, name);
+    if (parent != null) {
+      try {
+        BeanHandle<T> handle = parent.handle(type, name);
+        return handle::get;
+      } catch (NoSuchElementException e) {
+        // fall through, error when the provider is used
+      }
+    }
+    return () -> this.get(type, name);
   }
 
   @Override
@@ -338,7 +564,7 @@ class DBuilder implements Builder {
   }
 
   @SuppressWarnings("unchecked")
-  private <T> T injectBeanScope() {
+  private synchronized <T> T injectBeanScope() {
     if (beanScopeProxy == null) {
       beanScopeProxy = new DBeanScopeProxy();
     }
@@ -360,19 +586,129 @@ class DBuilder implements Builder {
     return msg;
   }
 
+  final void buildModule(Module module) {
+    build(module, this);
+  }
+
+  private void build(Module module, Builder target) {
+    if (startup == null) {
+      module.build(target);
+    } else {
+      startup.buildModule(module, () -> module.build(target));
+    }
+  }
+
+  void buildParallel(Module module, Executor executor) {
+    List<List<Consumer<Builder>>> levels = module.buildLevels();
+    if (levels == null) {
+      buildModule(module);
+    } else if (startup == null) {
+      buildLevels(levels, executor);
+    } else {
+      startup.buildModule(module, () -> buildLevels(levels, executor));
+    }
+  }
+
+  private void buildLevels(List<List<Consumer<Builder>>> levels, Executor executor) {
+    for (List<Consumer<Builder>> level : levels) {
+      buildLevel(level, executor);
+    }
+  }
+
+  void buildModules(List<Module> modules, Executor executor) {
+    List<Consumer<Builder>> steps = new ArrayList<>(modules.size());
+    for (Module module : modules) {
+      steps.add(target -> build(module, target));
+    }
+    buildLevel(steps, executor);
+  }
+
+  /**
+   * Run the build steps concurrently and then merge the registered beans in order.
+   * <p>
+   * The steps only read beans registered prior to this level and this builder is not
+   * modified until all the steps have completed.
+   */
+  private void buildLevel(List<Consumer<Builder>> steps, Executor executor) {
+    if (steps.size() == 1) {
+      steps.get(0).accept(this);
+      return;
+    }
+    final DBuilderTask[] tasks = new DBuilderTask[steps.size()];
+    final CompletableFuture<?>[] futures = new CompletableFuture<?>[tasks.length];
+    for (int i = 0; i < tasks.length; i++) {
+      final DBuilderTask task = new DBuilderTask(this);
+      final Consumer<Builder> step = startup == null ? steps.get(i) : startup.inModule(steps.get(i));
+      tasks[i] = task;
+      futures[i] = CompletableFuture.runAsync(() -> runStep(step, task), executor);
+    }
+    // wait for all the steps such that none are still running when a failure is thrown
+    CompletionException failure = null;
+    for (CompletableFuture<?> future : futures) {
+      try {
+        future.join();
+      } catch (CompletionException e) {
+        if (failure == null) {
+          failure = e;
+        }
+      }
+    }
+    if (failure != null) {
+      final Throwable cause = failure.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw failure;
+    }
+    for (DBuilderTask task : tasks) {
+      task.merge();
+    }
+  }
+
+  private void runStep(Consumer<Builder> step, DBuilderTask task) {
+    try {
+      step.accept(task);
+    } finally {
+      if (lifecycle != null) {
+        lifecycle.clear();
+      }
+    }
+  }
+
   private void runInjectors() {
     runningPostConstruct = true;
     for (Consumer<Builder> injector : injectors) {
-      injector.accept(this);
+      if (lifecycle != null) {
+        lifecycle.inject(injector, this);
+      } else {
+        injector.accept(this);
+      }
     }
   }
 
+  final void flattenParent(boolean flattenParent) {
+    this.flattenParent = flattenParent;
+  }
+
+  @Override
   public final BeanScope build(boolean withShutdownHook) {
     runInjectors();
-    var scope = new DBeanScope(withShutdownHook, preDestroy, postConstruct, beanMap, parent);
+    var scope = new DBeanScope(withShutdownHook, preDestroy, postConstruct, beanMap.freeze(), parent, flattenParent);
     if (beanScopeProxy != null) {
       beanScopeProxy.inject(scope);
     }
-    return scope.start();
+    this.scope = scope;
+    if (lifecycle == null) {
+      scope.start();
+    } else {
+      scope.start(lifecycle);
+    }
+    if (startup != null) {
+      startup.built(lifecycle == null ? bean -> Collections.emptyList() : lifecycle::dependenciesOf);
+    }
+    return scope;
   }
 }
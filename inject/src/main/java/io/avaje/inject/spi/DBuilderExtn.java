@@ -7,6 +7,7 @@ import java.lang.reflect.Type;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
 
 /**
  * Extended builder that supports supplied beans (mocks) and enriching beans (spy).
@@ -44,6 +45,21 @@ final class DBuilderExtn extends DBuilder {
     return true;
   }
 
+  /**
+   * Supplied and enriched beans are matched in registration order so build sequentially.
+   */
+  @Override
+  void buildParallel(Module module, Executor executor) {
+    buildModule(module);
+  }
+
+  @Override
+  void buildModules(List<Module> modules, Executor executor) {
+    for (Module module : modules) {
+      buildModule(module);
+    }
+  }
+
   /**
    * If we have a parentMatch (e.g. test scope bean) but we want to enrich it (Mockito Spy),
    * then enrich the parentMatch bean and register that into this scope.
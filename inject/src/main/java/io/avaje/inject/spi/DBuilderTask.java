@@ -0,0 +1,325 @@
+package io.avaje.inject.spi;
+
+import io.avaje.inject.BeanEntry;
+import io.avaje.inject.BeanScope;
+import jakarta.inject.Provider;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Builder used by a build step (bean or module) that runs concurrently with other steps.
+ * <p>
+ * Dependencies are read from the beans registered by this step and then from the main
+ * builder which is not modified while the steps run. Registration, lifecycle callbacks
+ * and injectors are buffered and merged into the main builder (in step order) when all
+ * the steps have completed. After the merge this delegates directly to the main builder
+ * as it is also used by Provider lambdas and injectors that run later.
+ */
+final class DBuilderTask implements Builder {
+
+  private final DBuilder main;
+  private final List<Consumer<DBuilder>> pending = new ArrayList<>();
+  /**
+   * The beans registered by this step (prior to the merge).
+   */
+  private final DBeanMap local = new DBeanMap();
+  private boolean merged;
+  private DStartup.Timing timing;
+
+  DBuilderTask(DBuilder main) {
+    this.main = main;
+  }
+
+  /**
+   * Apply the buffered operations to the main builder.
+   */
+  void merge() {
+    for (Consumer<DBuilder> op : pending) {
+      op.accept(main);
+    }
+    pending.clear();
+    merged = true;
+  }
+
+  private void apply(Consumer<DBuilder> op) {
+    if (merged) {
+      op.accept(main);
+    } else {
+      pending.add(op);
+    }
+  }
+
+  @Override
+  public boolean isAddBeanFor(String name, Type... types) {
+    local.nextBean(name, types);
+    main.nextDependencies();
+    if (merged) {
+      // the main builder times this bean
+      return main.isAddBeanFor(name, types);
+    }
+    timing = main.startTiming(name, types);
+    pending.add(b -> b.isAddBeanFor(name, types));
+    return main.parentMatch(name, types) == null;
+  }
+
+  @Override
+  public boolean isAddBeanFor(Type... types) {
+    return isAddBeanFor(null, types);
+  }
+
+  @Override
+  public Builder asPrimary() {
+    local.nextPriority(BeanEntry.PRIMARY);
+    apply(DBuilder::asPrimary);
+    return this;
+  }
+
+  @Override
+  public Builder asSecondary() {
+    local.nextPriority(BeanEntry.SECONDARY);
+    apply(DBuilder::asSecondary);
+    return this;
+  }
+
+  @Override
+  public Builder asPrototype() {
+    local.nextPrototype();
+    apply(DBuilder::asPrototype);
+    return this;
+  }
+
+  @Override
+  public Builder withPriority(Class<? extends Annotation> priorityAnnotation, int value) {
+    local.nextPriority(priorityAnnotation, value);
+    apply(b -> b.withPriority(priorityAnnotation, value));
+    return this;
+  }
+
+  @Override
+  public <T> void registerProvider(Provider<T> provider) {
+    DContextEntryBean entryBean = local.register(provider);
+    boolean timed = endTiming(provider);
+    apply(b -> b.registerEntry(entryBean, timed));
+  }
+
+  @Override
+  public <T> T register(T bean) {
+    // no enrichment with DBuilder so the bean registered is the same instance
+    DContextEntryBean entryBean = local.register(bean);
+    main.dependencies(bean);
+    boolean timed = endTiming(bean);
+    apply(b -> b.registerEntry(entryBean, timed));
+    return bean;
+  }
+
+  /**
+   * End the timing of the bean returning true if it was timed by this step.
+   */
+  private boolean endTiming(Object bean) {
+    if (timing == null) {
+      return false;
+    }
+    main.endTiming(timing, bean);
+    timing = null;
+    return true;
+  }
+
+  @Override
+  public <T> void withBean(Class<T> type, T bean) {
+    local.nextBean(null, new Type[]{type});
+    local.nextPriority(BeanEntry.SUPPLIED);
+    DContextEntryBean entryBean = local.register(bean);
+    apply(b -> {
+      b.next(null, type);
+      b.registerEntry(entryBean, false);
+    });
+  }
+
+  @Override
+  public void addPostConstruct(Runnable runnable) {
+    apply(b -> b.addPostConstruct(runnable));
+  }
+
+  @Override
+  public void addPreDestroy(AutoCloseable closeable) {
+    apply(b -> b.addPreDestroy(closeable));
+  }
+
+  @Override
+  public void addPreDestroy(AutoCloseable closeable, Object bean) {
+    apply(b -> b.addPreDestroy(closeable, bean));
+  }
+
+  @Override
+  public void addInjector(Consumer<Builder> injector) {
+    apply(b -> b.addInjector(injector));
+  }
+
+  private <T> T getMaybe(Type type, String name) {
+    return main.getMaybe(type, name, local);
+  }
+
+  private <T> T getBean(Type type, String name) {
+    return main.get(type, name, local);
+  }
+
+  @Override
+  public <T> T get(Class<T> cls) {
+    return getBean(cls, null);
+  }
+
+  @Override
+  public <T> T get(Class<T> cls, String name) {
+    return getBean(cls, name);
+  }
+
+  @Override
+  public <T> T get(Type cls) {
+    return getBean(cls, null);
+  }
+
+  @Override
+  public <T> T get(Type cls, String name) {
+    return getBean(cls, name);
+  }
+
+  @Override
+  public <T> Optional<T> getOptional(Class<T> cls) {
+    return Optional.ofNullable(getMaybe(cls, null));
+  }
+
+  @Override
+  public <T> Optional<T> getOptional(Class<T> cls, String name) {
+    return Optional.ofNullable(getMaybe(cls, name));
+  }
+
+  @Override
+  public <T> Optional<T> getOptional(Type cls) {
+    return Optional.ofNullable(getMaybe(cls, null));
+  }
+
+  @Override
+  public <T> Optional<T> getOptional(Type cls, String name) {
+    return Optional.ofNullable(getMaybe(cls, name));
+  }
+
+  @Override
+  public <T> T getNullable(Class<T> cls) {
+    return getMaybe(cls, null);
+  }
+
+  @Override
+  public <T> T getNullable(Class<T> cls, String name) {
+    return getMaybe(cls, name);
+  }
+
+  @Override
+  public <T> T getNullable(Type cls) {
+    return getMaybe(cls, null);
+  }
+
+  @Override
+  public <T> T getNullable(Type cls, String name) {
+    return getMaybe(cls, name);
+  }
+
+  @Override
+  public <T> Provider<T> getProvider(Class<T> cls) {
+    return provider(cls, null);
+  }
+
+  @Override
+  public <T> Provider<T> getProvider(Class<T> cls, String name) {
+    return provider(cls, name);
+  }
+
+  @Override
+  public <T> Provider<T> getProvider(Type cls) {
+    return provider(cls, null);
+  }
+
+  @Override
+  public <T> Provider<T> getProvider(Type cls, String name) {
+    return provider(cls, name);
+  }
+
+  private <T> Provider<T> provider(Type type, String name) {
+    if (merged) {
+      return main.getProvider(type, name);
+    }
+    ProviderPromise<T> promise = new ProviderPromise<>(type, name, main, this);
+    pending.add(b -> b.addInjector(promise));
+    return promise;
+  }
+
+  @Override
+  public <T> Provider<T> getProviderFor(Class<?> cls, Type type) {
+    return () -> {
+      T bean = getMaybe(cls, null);
+      return bean != null ? bean : main.<T>getProviderFor(cls, type).get();
+    };
+  }
+
+  @Override
+  public <T> List<T> list(Class<T> type) {
+    return listOf(type);
+  }
+
+  @Override
+  public <T> List<T> list(Type type) {
+    return listOf(type);
+  }
+
+  @Override
+  public <T> Set<T> set(Class<T> type) {
+    return new LinkedHashSet<>(listOf(type));
+  }
+
+  @Override
+  public <T> Set<T> set(Type type) {
+    return new LinkedHashSet<>(listOf(type));
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T> List<T> listOf(Type type) {
+    // beans of the main builder were registered prior to the beans of this step
+    List<T> list = new ArrayList<>(main.list(type));
+    List<T> localList = (List<T>) local.all(type);
+    main.readAll(localList);
+    list.addAll(localList);
+    return list;
+  }
+
+  @Override
+  public <T> Map<String, T> map(Class<T> type) {
+    return mapOf(type);
+  }
+
+  @Override
+  public <T> Map<String, T> map(Type type) {
+    return mapOf(type);
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T> Map<String, T> mapOf(Type type) {
+    Map<String, T> map = new LinkedHashMap<>(main.map(type));
+    Map<String, T> localMap = (Map<String, T>) local.map(type, null);
+    main.readAll(localMap.values());
+    map.putAll(localMap);
+    return map;
+  }
+
+  @Override
+  public BeanScope build(boolean withShutdownHook) {
+    throw new IllegalStateException("build() is only supported on the main builder");
+  }
+}
@@ -3,6 +3,8 @@ package io.avaje.inject.spi;
 import jakarta.inject.Provider;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -14,52 +16,153 @@ import java.util.Map;
  */
 final class DContextEntry {
 
-  private final List<DContextEntryBean> entries = new ArrayList<>(5);
+  private static final String NULL_NAME = "\u0000";
+  private static final Object NO_MATCH = new Object();
+
+  private DContextEntryBean[] entries = new DContextEntryBean[2];
+  private int size;
+
+  /**
+   * Matches resolved at freeze keyed by the qualifier names of the entries (and null).
+   */
+  private Map<String, Object> resolved;
 
   @Override
   public String toString() {
-    return String.valueOf(entries);
+    return Arrays.toString(entries());
   }
 
-  List<DContextEntryBean> entries() {
-    return entries;
+  DContextEntryBean[] entries() {
+    return size == entries.length ? entries : Arrays.copyOf(entries, size);
+  }
+
+  int size() {
+    return size;
+  }
+
+  /**
+   * Return the first entry (typically used when there is only one entry).
+   */
+  DContextEntryBean first() {
+    return entries[0];
   }
 
   void add(DContextEntryBean entryBean) {
-    entries.add(entryBean);
+    if (size == entries.length) {
+      entries = Arrays.copyOf(entries, size * 2);
+    }
+    entries[size++] = entryBean;
+  }
+
+  /**
+   * Trim the entries as no more entries will be added.
+   */
+  DContextEntry freeze() {
+    if (size != entries.length) {
+      entries = Arrays.copyOf(entries, size);
+    }
+    if (size > 1) {
+      Map<String, Object> matches = new HashMap<>();
+      matches.put(NULL_NAME, resolve(null));
+      for (int i = 0; i < size; i++) {
+        String name = entries[i].name();
+        if (name != null) {
+          matches.putIfAbsent(name, resolve(name));
+        }
+      }
+      resolved = matches;
+    }
+    return this;
   }
 
   Provider<?> provider(String name) {
-    if (entries.size() == 1) {
-      return entries.get(0).provider();
+    if (size == 1) {
+      return entries[0].provider();
     }
-    return new EntryMatcher(name).provider(entries);
+    DContextEntryBean match = match(name);
+    return match == null ? null : match.provider();
   }
 
   /**
    * Get with strict name match for the single entry case.
    */
   Object getStrict(String name) {
-    if (entries.size() == 1) {
-      return entries.get(0).beanIfNameMatch(name);
+    if (size == 1) {
+      return entries[0].beanIfNameMatch(name);
+    }
+    DContextEntryBean match = match(name);
+    return match == null ? null : match.bean();
+  }
+
+  /**
+   * Return the matching entry (as per get) or null.
+   */
+  DContextEntryBean entryBean(String name) {
+    return size == 1 ? entries[0] : match(name);
+  }
+
+  /**
+   * Return the matching entry of the combined entries (as if the other entries were added
+   * to this entry) or null. Either entry can be null.
+   */
+  static DContextEntryBean entryBean(DContextEntry entry, DContextEntry other, String name) {
+    if (other == null || other.size == 0) {
+      return entry == null ? null : entry.entryBean(name);
+    }
+    if (entry == null || entry.size == 0) {
+      return other.entryBean(name);
     }
-    return new EntryMatcher(name).match(entries);
+    final int combinedSize = entry.size + other.size;
+    final DContextEntryBean[] combined = Arrays.copyOf(entry.entries, combinedSize);
+    System.arraycopy(other.entries, 0, combined, entry.size, other.size);
+    return new EntryMatcher(name).findMatch(combined, combinedSize);
   }
 
   Object get(String name) {
-    if (entries.size() == 1) {
-      return entries.get(0).bean();
+    if (size == 1) {
+      return entries[0].bean();
+    }
+    DContextEntryBean match = match(name);
+    return match == null ? null : match.bean();
+  }
+
+  /**
+   * Return the matching entry for the qualifier name.
+   * <p>
+   * Once frozen the entries do not change so the result (including an ambiguous match)
+   * of the qualifier names of the entries is resolved at freeze. Other names are matched
+   * on each lookup.
+   */
+  private DContextEntryBean match(String name) {
+    final Object result = resolved == null ? null : resolved.get(name == null ? NULL_NAME : name);
+    if (result == null) {
+      return new EntryMatcher(name).findMatch(entries, size);
+    }
+    if (result instanceof DContextEntryBean) {
+      return (DContextEntryBean) result;
+    }
+    if (result == NO_MATCH) {
+      return null;
+    }
+    throw new IllegalStateException(((Ambiguous) result).message);
+  }
+
+  private Object resolve(String name) {
+    try {
+      DContextEntryBean match = new EntryMatcher(name).findMatch(entries, size);
+      return match == null ? NO_MATCH : match;
+    } catch (IllegalStateException e) {
+      return new Ambiguous(e.getMessage());
     }
-    return new EntryMatcher(name).match(entries);
   }
 
   /**
    * Return all the beans.
    */
   List<Object> all() {
-    List<Object> list = new ArrayList<>(entries.size());
-    for (DContextEntryBean entry : entries) {
-      list.add(entry.bean());
+    List<Object> list = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      list.add(entries[i].bean());
     }
     return list;
   }
@@ -69,29 +172,75 @@ final class DContextEntry {
    */
   Map<String, Object> map() {
     Map<String, Object> map = new LinkedHashMap<>();
-    for (DContextEntryBean entry : entries) {
-      Object bean = entry.bean();
-      String nm = entry.name();
-      if (nm == null) {
-        nm = "$Unnamed-" + System.identityHashCode(bean) + "-" + bean;
-      }
-      map.put(nm, bean);
+    for (int i = 0; i < size; i++) {
+      put(map, entries[i]);
     }
     return map;
   }
 
+  /**
+   * Return all the beans for a single entry.
+   */
+  static List<Object> all(DContextEntryBean entry) {
+    List<Object> list = new ArrayList<>(1);
+    list.add(entry.bean());
+    return list;
+  }
+
+  /**
+   * Return a map of beans keyed by qualifier name for a single entry.
+   */
+  static Map<String, Object> map(DContextEntryBean entry) {
+    Map<String, Object> map = new LinkedHashMap<>();
+    put(map, entry);
+    return map;
+  }
+
+  private static void put(Map<String, Object> map, DContextEntryBean entry) {
+    Object bean = entry.bean();
+    String nm = entry.name();
+    if (nm == null) {
+      nm = "$Unnamed-" + System.identityHashCode(bean) + "-" + bean;
+    }
+    map.put(nm, bean);
+  }
+
+  /**
+   * Return true if none of the entries are prototype scoped.
+   */
+  boolean isSingletons() {
+    for (int i = 0; i < size; i++) {
+      if (entries[i].isPrototype()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   /**
    * Return a supplied bean is one of the entries.
    */
   DContextEntryBean supplied(String qualifierName) {
-    for (DContextEntryBean entry : entries) {
-      if (entry.isSupplied(qualifierName)) {
-        return entry;
+    for (int i = 0; i < size; i++) {
+      if (entries[i].isSupplied(qualifierName)) {
+        return entries[i];
       }
     }
     return null;
   }
 
+  /**
+   * Resolution failure for multiple matching beans.
+   */
+  private static final class Ambiguous {
+
+    private final String message;
+
+    Ambiguous(String message) {
+      this.message = message;
+    }
+  }
+
   static final class EntryMatcher {
 
     private final String name;
@@ -109,26 +258,16 @@ final class DContextEntry {
       }
     }
 
-    private Provider<?> provider(List<DContextEntryBean> entries) {
-      DContextEntryBean match = findMatch(entries);
-      return match == null ? null : match.provider();
-    }
-
-    private Object match(List<DContextEntryBean> entries) {
-      DContextEntryBean match = findMatch(entries);
-      return match == null ? null : match.bean();
-    }
-
-    private DContextEntryBean findMatch(List<DContextEntryBean> entries) {
-      for (DContextEntryBean entry : entries) {
-        if (entry.isNameMatch(name)) {
-          checkMatch(entry);
+    private DContextEntryBean findMatch(DContextEntryBean[] entries, int size) {
+      for (int i = 0; i < size; i++) {
+        if (entries[i].isNameMatch(name)) {
+          checkMatch(entries[i]);
         }
       }
       if (match == null && impliedName) {
         // search again as if the implied name wasn't there, name = null
-        for (DContextEntryBean entry : entries) {
-          checkMatch(entry);
+        for (int i = 0; i < size; i++) {
+          checkMatch(entries[i]);
         }
       }
       return candidate();
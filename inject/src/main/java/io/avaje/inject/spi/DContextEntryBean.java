@@ -1,23 +1,42 @@
 package io.avaje.inject.spi;
 
 import io.avaje.inject.BeanEntry;
+import io.avaje.inject.BeanHandle;
 
 import jakarta.inject.Provider;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.Type;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Holds either the bean itself or a provider of the bean.
  */
 class DContextEntryBean {
 
+  private static final Set<String> PRIORITY_ANNOTATIONS = Set.of(Builder.PRIORITY_ANNOTATIONS.split(","));
+
   /**
    * Create taking into account if it is a Provider or the bean itself.
    */
   static DContextEntryBean of(Object source, String name, int flag) {
+    return of(source, name, flag, null, null);
+  }
+
+  /**
+   * Create with the priority annotation values captured at compile time.
+   *
+   * @param priorities The priority annotation values captured at compile time
+   * @param beanType   The registered bean type (whose priority annotations were read at compile time)
+   */
+  static DContextEntryBean of(Object source, String name, int flag, Map<Class<?>, Integer> priorities, Type beanType) {
     if (source instanceof Provider) {
-      return new ProtoProvider((Provider<?>)source, name, flag);
+      return new ProtoProvider((Provider<?>)source, name, flag, priorities, beanType);
     } else {
-      return new DContextEntryBean(source, name, flag);
+      return new DContextEntryBean(source, name, flag, priorities, beanType);
     }
   }
 
@@ -26,24 +45,28 @@ class DContextEntryBean {
    */
   static DContextEntryBean supplied(Object source, String name, int flag) {
     if (source instanceof Provider) {
-      return new OnceProvider((Provider<?>)source, name, flag);
+      return new OnceProvider((Provider<?>)source, name, flag, null, null);
     } else {
-      return new DContextEntryBean(source, name, flag);
+      return new DContextEntryBean(source, name, flag, null, null);
     }
   }
 
-  static DContextEntryBean provider(boolean prototype, Provider<?> provider, String name, int flag) {
-    return prototype ? new ProtoProvider(provider, name, flag) : new OnceProvider(provider, name, flag);
+  static DContextEntryBean provider(boolean prototype, Provider<?> provider, String name, int flag, Map<Class<?>, Integer> priorities, Type beanType) {
+    return prototype ? new ProtoProvider(provider, name, flag, priorities, beanType) : new OnceProvider(provider, name, flag, priorities, beanType);
   }
 
   protected final Object source;
   protected final String name;
   private final int flag;
+  private final Map<Class<?>, Integer> priorities;
+  private final Type beanType;
 
-  private DContextEntryBean(Object source, String name, int flag) {
+  private DContextEntryBean(Object source, String name, int flag, Map<Class<?>, Integer> priorities, Type beanType) {
     this.source = source;
     this.name = KeyUtil.lower(name);
     this.flag = flag;
+    this.priorities = priorities;
+    this.beanType = beanType;
   }
 
   @Override
@@ -92,6 +115,45 @@ class DContextEntryBean {
     return this::bean;
   }
 
+  /**
+   * Return the priority value for the given annotation if it was captured at compile time.
+   * Null means the bean does not have the annotation or see {@link #priorityCaptured(Class, Object)}.
+   */
+  final Integer priority(Class<?> priorityAnnotation) {
+    return priorities == null ? null : priorities.get(priorityAnnotation);
+  }
+
+  /**
+   * Return true if the priority annotation was read at compile time. When false the bean
+   * class needs to be read via reflection.
+   * <p>
+   * The {@link Builder#PRIORITY_ANNOTATIONS} are read for the registered bean type so they
+   * are captured when the bean is of that type (and not a subtype like the bean of a factory
+   * method) or when values were registered via {@link Builder#withPriority(Class, int)}.
+   */
+  final boolean priorityCaptured(Class<?> priorityAnnotation, Object bean) {
+    if (!PRIORITY_ANNOTATIONS.contains(priorityAnnotation.getName())) {
+      return priorities != null && priorities.containsKey(priorityAnnotation);
+    }
+    return priorities != null || bean.getClass() == beanType;
+  }
+
+  /**
+   * Return a handle to the bean. For a bean instance this holds the instance.
+   */
+  @SuppressWarnings("unchecked")
+  <T> BeanHandle<T> handle() {
+    final T bean = (T) source;
+    return () -> bean;
+  }
+
+  /**
+   * Return true if this entry returns a new instance for each bean() call.
+   */
+  boolean isPrototype() {
+    return false;
+  }
+
   final boolean isPrimary() {
     return flag == BeanEntry.PRIMARY;
   }
@@ -115,8 +177,8 @@ class DContextEntryBean {
 
     private final Provider<?> provider;
 
-    private ProtoProvider(Provider<?> provider, String name, int flag) {
-      super(provider, name, flag);
+    private ProtoProvider(Provider<?> provider, String name, int flag, Map<Class<?>, Integer> priorities, Type beanType) {
+      super(provider, name, flag, priorities, beanType);
       this.provider = provider;
     }
 
@@ -129,28 +191,70 @@ class DContextEntryBean {
     Object bean() {
       return provider.get();
     }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    <T> BeanHandle<T> handle() {
+      return () -> (T) provider.get();
+    }
+
+    @Override
+    boolean isPrototype() {
+      return true;
+    }
   }
 
   /**
    * Single instance scoped Provider based entry.
+   * <p>
+   * Once the bean is created it is read via an acquire read without locking. The lock
+   * is only used while creating the bean (and is a ReentrantLock rather than synchronized
+   * such that virtual threads do not pin the carrier while the provider runs).
    */
   static final class OnceProvider extends DContextEntryBean {
 
+    private static final VarHandle BEAN;
+
+    static {
+      try {
+        BEAN = MethodHandles.lookup().findVarHandle(OnceProvider.class, "bean", Object.class);
+      } catch (ReflectiveOperationException e) {
+        throw new ExceptionInInitializerError(e);
+      }
+    }
+
+    private final ReentrantLock lock = new ReentrantLock();
     private final Provider<?> provider;
     private Object bean;
 
-    private OnceProvider(Provider<?> provider, String name, int flag) {
-      super(provider, name, flag);
+    private OnceProvider(Provider<?> provider, String name, int flag, Map<Class<?>, Integer> priorities, Type beanType) {
+      super(provider, name, flag, priorities, beanType);
       this.provider = provider;
     }
 
     @Override
     Object bean() {
-      synchronized (this) {
-        if (bean == null) {
-          bean = provider.get();
+      final Object instance = BEAN.getAcquire(this);
+      return instance != null ? instance : create();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    <T> BeanHandle<T> handle() {
+      return () -> (T) bean();
+    }
+
+    private Object create() {
+      lock.lock();
+      try {
+        Object instance = bean;
+        if (instance == null) {
+          instance = provider.get();
+          BEAN.setRelease(this, instance);
         }
-        return bean;
+        return instance;
+      } finally {
+        lock.unlock();
       }
     }
   }
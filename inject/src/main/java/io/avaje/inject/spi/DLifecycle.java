@@ -0,0 +1,372 @@
+package io.avaje.inject.spi;
+
+import io.avaje.applog.AppLog;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+import static java.lang.System.Logger.Level.ERROR;
+import static java.lang.System.Logger.Level.WARNING;
+
+/**
+ * Runs the PostConstruct and PreDestroy methods concurrently based on the dependencies of the beans.
+ * <p>
+ * The beans that each bean reads while it is built (including field and method injection)
+ * are captured. A PostConstruct method then waits only for the PostConstruct methods of
+ * the beans it transitively depends on and a PreDestroy method waits only for the PreDestroy
+ * methods of the beans that transitively depend on it. They only wait for methods that run
+ * before them when run sequentially such that circular dependencies (via field injection)
+ * can not deadlock.
+ */
+final class DLifecycle {
+
+  private static final System.Logger log = AppLog.getLogger("io.avaje.inject");
+
+  /**
+   * The beans read by the bean currently being built on this thread.
+   */
+  private final ThreadLocal<List<Object>> reads = ThreadLocal.withInitial(ArrayList::new);
+  private final Map<Object, List<Object>> dependencies = new IdentityHashMap<>();
+  private final Map<Consumer<Builder>, Object> injectorBeans = new IdentityHashMap<>();
+  private final Map<Object, List<Node>> postConstructBeans = new IdentityHashMap<>();
+  private final Map<Object, List<Node>> preDestroyBeans = new IdentityHashMap<>();
+  private final List<Node> postConstruct = new ArrayList<>();
+  private final List<Node> preDestroy = new ArrayList<>();
+  private volatile boolean capturing = true;
+  private Object lastBean;
+  private Executor postConstructExecutor;
+  private Executor preDestroyExecutor;
+  private long beanTimeoutNanos;
+  private long timeoutNanos;
+
+  void postConstruct(Executor executor) {
+    this.postConstructExecutor = executor;
+  }
+
+  void preDestroy(Executor executor, Duration beanTimeout, Duration timeout) {
+    this.preDestroyExecutor = rejectInline(executor);
+    this.beanTimeoutNanos = beanTimeout.toNanos();
+    this.timeoutNanos = timeout.toNanos();
+  }
+
+  /**
+   * Run the task on the calling thread if the executor rejects it (like when closing via
+   * the shutdown hook after the executor has been shutdown).
+   */
+  private static Executor rejectInline(Executor executor) {
+    return task -> {
+      try {
+        executor.execute(task);
+      } catch (RejectedExecutionException e) {
+        task.run();
+      }
+    };
+  }
+
+  boolean isParallelPostConstruct() {
+    return postConstructExecutor != null;
+  }
+
+  boolean isParallelPreDestroy() {
+    return preDestroyExecutor != null;
+  }
+
+  /**
+   * Start capturing the dependencies of the next bean.
+   */
+  void next() {
+    reads.get().clear();
+  }
+
+  /**
+   * Clear the captured reads of this thread (at the end of a concurrent build step).
+   */
+  void clear() {
+    reads.remove();
+  }
+
+  void read(Object bean) {
+    if (bean != null && capturing) {
+      reads.get().add(bean);
+    }
+  }
+
+  void readAll(Collection<?> beans) {
+    if (!beans.isEmpty() && capturing) {
+      reads.get().addAll(beans);
+    }
+  }
+
+  /**
+   * Set the beans read by this thread as dependencies of the given bean.
+   */
+  synchronized void dependencies(Object bean) {
+    final List<Object> captured = reads.get();
+    if (!captured.isEmpty()) {
+      dependencies.computeIfAbsent(bean, b -> new ArrayList<>()).addAll(captured);
+      captured.clear();
+    }
+  }
+
+  /**
+   * Return the beans that the bean read while it was built.
+   */
+  synchronized List<Object> dependenciesOf(Object bean) {
+    return dependencies.getOrDefault(bean, Collections.emptyList());
+  }
+
+  /**
+   * Set the last registered bean that subsequent lifecycle methods and injectors are for.
+   */
+  void registered(Object bean) {
+    lastBean = bean;
+  }
+
+  void addPostConstruct(Runnable runnable) {
+    if (postConstructExecutor != null) {
+      add(postConstruct, postConstructBeans, new Node(postConstruct.size(), lastBean, runnable));
+    }
+  }
+
+  /**
+   * Add the PreDestroy method of the bean (or the last registered bean when null).
+   */
+  void addPreDestroy(AutoCloseable closeable, Object bean) {
+    if (preDestroyExecutor != null) {
+      add(preDestroy, preDestroyBeans, new Node(preDestroy.size(), bean != null ? bean : lastBean, closeable));
+    }
+  }
+
+  private void add(List<Node> nodes, Map<Object, List<Node>> beanNodes, Node node) {
+    nodes.add(node);
+    if (node.bean != null) {
+      beanNodes.computeIfAbsent(node.bean, b -> new ArrayList<>()).add(node);
+    }
+  }
+
+  void addInjector(Consumer<Builder> injector) {
+    if (lastBean != null) {
+      injectorBeans.put(injector, lastBean);
+    }
+  }
+
+  /**
+   * Run the injector capturing the beans it reads as dependencies of its bean.
+   */
+  void inject(Consumer<Builder> injector, Builder builder) {
+    next();
+    injector.accept(builder);
+    final Object bean = injectorBeans.get(injector);
+    if (bean != null) {
+      dependencies(bean);
+    }
+  }
+
+  /**
+   * Stop capturing dependencies (the scope is built).
+   */
+  void built() {
+    capturing = false;
+    reads.remove();
+  }
+
+  /**
+   * Run all the PostConstruct methods returning when they have all completed.
+   */
+  void runPostConstruct() {
+    final Map<Object, Set<Node>> resolved = new IdentityHashMap<>();
+    final CompletableFuture<?>[] futures = new CompletableFuture<?>[postConstruct.size()];
+    for (Node node : postConstruct) {
+      final List<CompletableFuture<?>> waitFor = new ArrayList<>();
+      for (Node dependency : dependsOn(node.bean, postConstructBeans, resolved)) {
+        if (dependency.index < node.index) {
+          waitFor.add(futures[dependency.index]);
+        }
+      }
+      futures[node.index] = allOf(waitFor).thenRunAsync(node.runnable, postConstructExecutor);
+    }
+    RuntimeException error = null;
+    for (CompletableFuture<?> future : futures) {
+      try {
+        future.join();
+      } catch (CompletionException e) {
+        if (error == null) {
+          error = e;
+        }
+      }
+    }
+    postConstruct.clear();
+    postConstructBeans.clear();
+    if (error != null) {
+      final Throwable cause = error.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw error;
+    }
+  }
+
+  /**
+   * Close the beans in reverse dependency order returning when they have all completed or
+   * when the overall timeout is reached.
+   * <p>
+   * Closeables added after the scope was built (by lazy beans) are closed first in reverse
+   * order. The beans that did not complete within the bean timeout are logged.
+   *
+   * @param closeables All the closeables of the scope
+   */
+  void runPreDestroy(List<AutoCloseable> closeables) {
+    CompletableFuture<?> late = CompletableFuture.completedFuture(null);
+    final List<Node> lateNodes = new ArrayList<>();
+    for (int i = closeables.size() - 1; i >= preDestroy.size(); i--) {
+      final Node node = new Node(i, null, closeables.get(i));
+      lateNodes.add(node);
+      late = late.thenCompose(v -> close(node));
+    }
+    final Map<Object, Set<Node>> resolved = new IdentityHashMap<>();
+    final List<List<CompletableFuture<?>>> dependents = new ArrayList<>(preDestroy.size());
+    for (int i = 0; i < preDestroy.size(); i++) {
+      dependents.add(new ArrayList<>());
+    }
+    // close the beans that depend on a bean before it
+    final CompletableFuture<?>[] futures = new CompletableFuture<?>[preDestroy.size()];
+    for (int i = preDestroy.size() - 1; i >= 0; i--) {
+      final Node node = preDestroy.get(i);
+      final List<CompletableFuture<?>> waitFor = dependents.get(i);
+      waitFor.add(late);
+      final CompletableFuture<?> future = allOf(waitFor).thenCompose(v -> close(node));
+      futures[i] = future;
+      for (Node dependency : dependsOn(node.bean, preDestroyBeans, resolved)) {
+        if (dependency.index < i) {
+          dependents.get(dependency.index).add(future);
+        }
+      }
+    }
+    try {
+      allOf(List.of(futures)).thenCombine(late, (a, b) -> a).get(timeoutNanos, TimeUnit.NANOSECONDS);
+    } catch (TimeoutException e) {
+      log.log(WARNING, "PreDestroy did not complete within the timeout of {0}ms", TimeUnit.NANOSECONDS.toMillis(timeoutNanos));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (ExecutionException e) {
+      // not expected, errors are logged when closing each bean
+      log.log(ERROR, "Error during PreDestroy lifecycle method", e);
+    }
+    final List<String> overran = new ArrayList<>();
+    lateNodes.addAll(preDestroy);
+    for (Node node : lateNodes) {
+      final String description = node.overran(beanTimeoutNanos);
+      if (description != null) {
+        overran.add(description);
+      }
+    }
+    if (!overran.isEmpty()) {
+      log.log(WARNING, "PreDestroy overran for beans {0} with bean timeout of {1}ms", overran, TimeUnit.NANOSECONDS.toMillis(beanTimeoutNanos));
+    }
+  }
+
+  /**
+   * Close the bean no longer waiting for it when it exceeds the bean timeout.
+   */
+  private CompletableFuture<Void> close(Node node) {
+    return CompletableFuture.runAsync(node.runnable, preDestroyExecutor)
+      .completeOnTimeout(null, beanTimeoutNanos, TimeUnit.NANOSECONDS);
+  }
+
+  private static CompletableFuture<?> allOf(List<CompletableFuture<?>> futures) {
+    return futures.size() == 1 ? futures.get(0) : CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]));
+  }
+
+  /**
+   * Return the nodes of the beans that the bean depends on, following through the
+   * dependencies of beans that do not have a node.
+   */
+  private Set<Node> dependsOn(Object bean, Map<Object, List<Node>> beanNodes, Map<Object, Set<Node>> resolved) {
+    if (bean == null) {
+      return Collections.emptySet();
+    }
+    Set<Node> result = resolved.get(bean);
+    if (result != null) {
+      return result;
+    }
+    // guard against circular dependencies
+    resolved.put(bean, Collections.emptySet());
+    result = new LinkedHashSet<>();
+    for (Object dependency : dependencies.getOrDefault(bean, Collections.emptyList())) {
+      final List<Node> dependencyNodes = beanNodes.get(dependency);
+      if (dependencyNodes != null) {
+        result.addAll(dependencyNodes);
+      } else {
+        result.addAll(dependsOn(dependency, beanNodes, resolved));
+      }
+    }
+    resolved.put(bean, result);
+    return result;
+  }
+
+  private static final class Node {
+
+    private final int index;
+    private final Object bean;
+    private final Runnable runnable;
+    private final String description;
+    private volatile boolean started;
+    private volatile long startNanos;
+    private volatile long tookNanos = -1;
+
+    Node(int index, Object bean, Runnable runnable) {
+      this.index = index;
+      this.bean = bean;
+      this.runnable = runnable;
+      this.description = null;
+    }
+
+    Node(int index, Object bean, AutoCloseable closeable) {
+      this.index = index;
+      this.bean = bean;
+      this.runnable = () -> close(closeable);
+      this.description = (bean != null ? bean : closeable).getClass().getName();
+    }
+
+    private void close(AutoCloseable closeable) {
+      startNanos = System.nanoTime();
+      started = true;
+      try {
+        closeable.close();
+      } catch (Exception e) {
+        log.log(ERROR, "Error during PreDestroy lifecycle method", e);
+      } finally {
+        tookNanos = System.nanoTime() - startNanos;
+      }
+    }
+
+    /**
+     * Return the description of the bean if it overran the timeout (or null).
+     */
+    String overran(long timeoutNanos) {
+      final long took = tookNanos;
+      if (took >= 0) {
+        return took > timeoutNanos ? description + " (" + TimeUnit.NANOSECONDS.toMillis(took) + "ms)" : null;
+      }
+      return started ? description + " (not completed)" : description + " (not started)";
+    }
+  }
+}
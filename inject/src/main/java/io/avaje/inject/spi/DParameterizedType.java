@@ -0,0 +1,87 @@
+package io.avaje.inject.spi;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.StringJoiner;
+
+/**
+ * ParameterizedType used by generated code rather than an anonymous GenericType subclass.
+ * <p>
+ * Equals, hashCode and the type name match the JDK implementation such that it can be
+ * used interchangeably with types obtained via reflection.
+ */
+final class DParameterizedType implements ParameterizedType {
+
+  private final Type ownerType;
+  private final Class<?> rawType;
+  private final Type[] typeArguments;
+
+  DParameterizedType(Type ownerType, Class<?> rawType, Type[] typeArguments) {
+    this.ownerType = ownerType != null ? ownerType : rawType.getDeclaringClass();
+    this.rawType = rawType;
+    this.typeArguments = typeArguments.clone();
+  }
+
+  @Override
+  public Type[] getActualTypeArguments() {
+    return typeArguments.clone();
+  }
+
+  @Override
+  public Type getRawType() {
+    return rawType;
+  }
+
+  @Override
+  public Type getOwnerType() {
+    return ownerType;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof ParameterizedType)) {
+      return false;
+    }
+    ParameterizedType that = (ParameterizedType) obj;
+    return rawType.equals(that.getRawType())
+      && Objects.equals(ownerType, that.getOwnerType())
+      && Arrays.equals(typeArguments, that.getActualTypeArguments());
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(typeArguments) ^ Objects.hashCode(ownerType) ^ rawType.hashCode();
+  }
+
+  @Override
+  public String getTypeName() {
+    return toString();
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder();
+    if (ownerType == null) {
+      sb.append(rawType.getName());
+    } else {
+      sb.append(ownerType.getTypeName()).append('$');
+      if (ownerType instanceof ParameterizedType) {
+        Type ownerRaw = ((ParameterizedType) ownerType).getRawType();
+        sb.append(rawType.getName().replace(ownerRaw.getTypeName() + "$", ""));
+      } else {
+        sb.append(rawType.getSimpleName());
+      }
+    }
+    StringJoiner joiner = new StringJoiner(", ", "<", ">");
+    joiner.setEmptyValue("");
+    for (Type argument : typeArguments) {
+      joiner.add(argument.getTypeName());
+    }
+    return sb.append(joiner).toString();
+  }
+}
@@ -0,0 +1,275 @@
+package io.avaje.inject.spi;
+
+import io.avaje.applog.AppLog;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static java.lang.System.Logger.Level.INFO;
+
+/**
+ * Records the time taken to build the modules, create the beans, run the injectors and
+ * run the PostConstruct methods.
+ * <p>
+ * The timings are emitted as Flight Recorder events when a recording is running (checked
+ * once when building starts) and collected for the startup report when that is enabled.
+ * When neither is enabled the builder does not create this at all.
+ */
+final class DStartup {
+
+  private static final System.Logger log = AppLog.getLogger("io.avaje.inject");
+
+  static final String MODULE = "module";
+  static final String CREATE = "create";
+  static final String INJECT = "inject";
+  static final String POST_CONSTRUCT = "postConstruct";
+
+  private static final int SLOWEST = 10;
+
+  private final boolean jfr;
+  private final boolean report;
+  private final long startNanos = System.nanoTime();
+  private final List<Timing> timings = Collections.synchronizedList(new ArrayList<>());
+  /**
+   * The module being built by this thread.
+   */
+  private final ThreadLocal<String> module = new ThreadLocal<>();
+
+  /**
+   * Return the startup recorder or null when neither Flight Recorder nor the report is enabled.
+   */
+  static DStartup create(boolean report) {
+    final boolean jfr = isRecording();
+    return jfr || report ? new DStartup(jfr, report) : null;
+  }
+
+  private static boolean isRecording() {
+    try {
+      return DStartupEvent.isRecording();
+    } catch (LinkageError e) {
+      // the jdk.jfr module is not available
+      return false;
+    }
+  }
+
+  DStartup(boolean jfr, boolean report) {
+    this.jfr = jfr;
+    this.report = report;
+  }
+
+  boolean isReport() {
+    return report;
+  }
+
+  /**
+   * Start timing the given phase for the bean type.
+   */
+  Timing start(String phase, String type, String qualifier) {
+    return start(phase, type, qualifier, module.get());
+  }
+
+  private Timing start(String phase, String type, String qualifier, String moduleName) {
+    return new Timing(phase, type, qualifier, moduleName, jfr ? DStartupEvent.start() : null);
+  }
+
+  /**
+   * End the timing with the bean that was created (or null).
+   */
+  void end(Timing timing, Object bean) {
+    timing.nanos = System.nanoTime() - timing.startNanos;
+    timing.bean = bean;
+    if (jfr) {
+      DStartupEvent.commit(timing.event, timing);
+    }
+    timing.event = null;
+    if (report) {
+      timings.add(timing);
+    }
+  }
+
+  /**
+   * Build the module recording the time taken and the module of the beans it creates.
+   */
+  void buildModule(Module buildModule, Runnable build) {
+    final String name = buildModule.getClass().getName();
+    final String outer = module.get();
+    module.set(name);
+    try {
+      final Timing timing = start(MODULE, name, null);
+      build.run();
+      end(timing, null);
+    } finally {
+      if (outer == null) {
+        module.remove();
+      } else {
+        module.set(outer);
+      }
+    }
+  }
+
+  /**
+   * Return a build step that sets the module of the beans it creates.
+   */
+  Consumer<Builder> inModule(Consumer<Builder> step) {
+    final String name = module.get();
+    return builder -> {
+      module.set(name);
+      try {
+        step.accept(builder);
+      } finally {
+        module.remove();
+      }
+    };
+  }
+
+  /**
+   * Return the PostConstruct method wrapped to record its time taken.
+   */
+  Runnable postConstruct(Runnable postConstruct, String type) {
+    final String moduleName = module.get();
+    return () -> {
+      final Timing timing = start(POST_CONSTRUCT, type, null, moduleName);
+      postConstruct.run();
+      end(timing, null);
+    };
+  }
+
+  /**
+   * Return the injector wrapped to record its time taken.
+   */
+  Consumer<Builder> injector(Consumer<Builder> injector, String type) {
+    final String moduleName = module.get();
+    return builder -> {
+      final Timing timing = start(INJECT, type, null, moduleName);
+      injector.accept(builder);
+      end(timing, null);
+    };
+  }
+
+  /**
+   * Log the startup report (when enabled).
+   *
+   * @param dependencies Function returning the beans that a bean depends on
+   */
+  void built(Function<Object, List<Object>> dependencies) {
+    if (report) {
+      log.log(INFO, report(dependencies));
+    }
+  }
+
+  /**
+   * Return the startup report listing the slowest beans and the critical path.
+   * <p>
+   * The critical path is the chain of dependent beans with the largest total creation
+   * time, which is the minimum time to create the beans even when building in parallel.
+   */
+  String report(Function<Object, List<Object>> dependencies) {
+    final List<Timing> all;
+    synchronized (timings) {
+      all = new ArrayList<>(timings);
+    }
+    final StringBuilder sb = new StringBuilder(500);
+    sb.append("BeanScope startup ").append(millis(System.nanoTime() - startNanos)).append(" slowest:");
+    final List<Timing> slowest = new ArrayList<>();
+    for (Timing timing : all) {
+      if (!MODULE.equals(timing.phase)) {
+        slowest.add(timing);
+      }
+    }
+    slowest.sort(Comparator.comparingLong((Timing t) -> t.nanos).reversed());
+    for (Timing timing : slowest.subList(0, Math.min(SLOWEST, slowest.size()))) {
+      sb.append("\n  ").append(timing);
+    }
+    final List<Timing> path = criticalPath(all, dependencies);
+    long total = 0;
+    for (Timing timing : path) {
+      total += timing.nanos;
+    }
+    sb.append("\ncritical path ").append(millis(total)).append(':');
+    for (Timing timing : path) {
+      sb.append("\n  ").append(timing);
+    }
+    return sb.toString();
+  }
+
+  private List<Timing> criticalPath(List<Timing> all, Function<Object, List<Object>> dependencies) {
+    final List<Timing> created = new ArrayList<>();
+    final Map<Object, Timing> beanTimings = new IdentityHashMap<>();
+    for (Timing timing : all) {
+      if (CREATE.equals(timing.phase) && timing.bean != null) {
+        created.add(timing);
+        beanTimings.put(timing.bean, timing);
+      }
+    }
+    // process in the order the beans completed such that dependencies are processed first
+    created.sort(Comparator.comparingLong(t -> t.startNanos + t.nanos));
+    final Map<Timing, Long> finish = new IdentityHashMap<>();
+    final Map<Timing, Timing> previous = new IdentityHashMap<>();
+    Timing last = null;
+    for (Timing timing : created) {
+      long start = 0;
+      for (Object dependency : dependencies.apply(timing.bean)) {
+        final Timing dependencyTiming = beanTimings.get(dependency);
+        final Long dependencyFinish = dependencyTiming == null ? null : finish.get(dependencyTiming);
+        if (dependencyFinish != null && dependencyFinish > start) {
+          start = dependencyFinish;
+          previous.put(timing, dependencyTiming);
+        }
+      }
+      final long end = start + timing.nanos;
+      finish.put(timing, end);
+      if (last == null || end > finish.get(last)) {
+        last = timing;
+      }
+    }
+    final List<Timing> path = new ArrayList<>();
+    for (Timing timing = last; timing != null; timing = previous.get(timing)) {
+      path.add(0, timing);
+    }
+    return path;
+  }
+
+  private static String millis(long nanos) {
+    return TimeUnit.NANOSECONDS.toMillis(nanos) + "ms";
+  }
+
+  static final class Timing {
+
+    final String phase;
+    final String type;
+    final String qualifier;
+    final String module;
+    final long startNanos = System.nanoTime();
+    long nanos;
+    Object bean;
+    Object event;
+
+    Timing(String phase, String type, String qualifier, String module, Object event) {
+      this.phase = phase;
+      this.type = type;
+      this.qualifier = qualifier;
+      this.module = module;
+      this.event = event;
+    }
+
+    @Override
+    public String toString() {
+      final StringBuilder sb = new StringBuilder(80);
+      sb.append(millis(nanos)).append(' ').append(phase).append(' ').append(type);
+      if (qualifier != null) {
+        sb.append(" name:").append(qualifier);
+      }
+      if (module != null) {
+        sb.append(" module:").append(module);
+      }
+      return sb.toString();
+    }
+  }
+}
@@ -0,0 +1,61 @@
+package io.avaje.inject.spi;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for building a module, creating a bean, running its field and
+ * method injection or running its PostConstruct method.
+ * <p>
+ * This is only referenced via {@link DStartup} when the jdk.jfr module is available.
+ */
+@Name("io.avaje.inject.Bean")
+@Label("Bean")
+@Category({"Avaje", "Inject"})
+@Description("Building a module, creating a bean, injecting a bean or running its PostConstruct method")
+@StackTrace(false)
+final class DStartupEvent extends Event {
+
+  @Label("Phase")
+  String phase;
+
+  @Label("Bean Type")
+  String beanType;
+
+  @Label("Qualifier")
+  String qualifier;
+
+  @Label("Module")
+  String module;
+
+  /**
+   * Return true if a recording is running with this event enabled.
+   */
+  static boolean isRecording() {
+    return FlightRecorder.isInitialized() && EventType.getEventType(DStartupEvent.class).isEnabled();
+  }
+
+  static Object start() {
+    final DStartupEvent event = new DStartupEvent();
+    event.begin();
+    return event;
+  }
+
+  static void commit(Object startEvent, DStartup.Timing timing) {
+    final DStartupEvent event = (DStartupEvent) startEvent;
+    event.end();
+    if (event.shouldCommit()) {
+      event.phase = timing.phase;
+      event.beanType = timing.type;
+      event.qualifier = timing.qualifier;
+      event.module = timing.module;
+      event.commit();
+    }
+  }
+}
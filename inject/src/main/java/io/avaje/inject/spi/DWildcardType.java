@@ -0,0 +1,68 @@
+package io.avaje.inject.spi;
+
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.util.Arrays;
+
+/**
+ * WildcardType used by generated code for type arguments like {@code ? extends Foo}.
+ * <p>
+ * Equals, hashCode and the type name match the JDK implementation.
+ */
+final class DWildcardType implements WildcardType {
+
+  private static final Type[] NONE = {};
+  private static final Type[] OBJECT = {Object.class};
+
+  private final Type[] upperBounds;
+  private final Type[] lowerBounds;
+
+  DWildcardType(Type upperBound, Type lowerBound) {
+    this.upperBounds = upperBound == null ? OBJECT : new Type[]{upperBound};
+    this.lowerBounds = lowerBound == null ? NONE : new Type[]{lowerBound};
+  }
+
+  @Override
+  public Type[] getUpperBounds() {
+    return upperBounds.clone();
+  }
+
+  @Override
+  public Type[] getLowerBounds() {
+    return lowerBounds.clone();
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof WildcardType)) {
+      return false;
+    }
+    WildcardType that = (WildcardType) obj;
+    return Arrays.equals(lowerBounds, that.getLowerBounds())
+      && Arrays.equals(upperBounds, that.getUpperBounds());
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(lowerBounds) ^ Arrays.hashCode(upperBounds);
+  }
+
+  @Override
+  public String getTypeName() {
+    return toString();
+  }
+
+  @Override
+  public String toString() {
+    if (lowerBounds.length > 0) {
+      return "? super " + lowerBounds[0].getTypeName();
+    }
+    if (upperBounds[0] != Object.class) {
+      return "? extends " + upperBounds[0].getTypeName();
+    }
+    return "?";
+  }
+}
@@ -13,6 +13,40 @@ public class GenericType<T> implements Type {
 
   private final Type type;
 
+  /**
+   * Return the parameterized type for the given raw type and type arguments.
+   * <p>
+   * This is used by generated code rather than creating an anonymous subclass of
+   * GenericType (and loading a class) per type.
+   *
+   * @param rawType       the raw type like {@code List.class}
+   * @param typeArguments the type arguments like {@code String.class}
+   */
+  public static Type of(Class<?> rawType, Type... typeArguments) {
+    return new DParameterizedType(null, rawType, typeArguments);
+  }
+
+  /**
+   * Return the wildcard type argument {@code ? extends upperBound}.
+   */
+  public static Type wildcardExtends(Type upperBound) {
+    return new DWildcardType(upperBound, null);
+  }
+
+  /**
+   * Return the wildcard type argument {@code ? super lowerBound}.
+   */
+  public static Type wildcardSuper(Type lowerBound) {
+    return new DWildcardType(null, lowerBound);
+  }
+
+  /**
+   * Return the unbounded wildcard type argument {@code ?}.
+   */
+  public static Type wildcard() {
+    return new DWildcardType(null, null);
+  }
+
   /**
    * Constructs a new generic type, deriving the generic type and class from type parameter.
    */
@@ -1,5 +1,8 @@
 package io.avaje.inject.spi;
 
+import java.util.List;
+import java.util.function.Consumer;
+
 import io.avaje.inject.InjectModule;
 
 /**
@@ -85,6 +88,16 @@ public interface Module {
    */
   void build(Builder builder);
 
+  /**
+   * Return the bean build steps grouped by dependency level or null when not supported.
+   * <p>
+   * Generated for modules with {@code @InjectModule(parallel = true)}. The steps of a level
+   * only depend on beans built by earlier levels such that they can be built concurrently.
+   */
+  default List<List<Consumer<Builder>>> buildLevels() {
+    return null;
+  }
+
   /**
    * Marker for custom scoped modules.
    */
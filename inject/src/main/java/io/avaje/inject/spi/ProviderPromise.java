@@ -7,18 +7,29 @@ import java.util.function.Consumer;
 
 /**
  * Provides late binding of Provider (like field/setter injection).
+ * <p>
+ * The Provider is bound at the end of the build when all the candidates are registered
+ * and until then each get() looks up the bean.
  */
 final class ProviderPromise<T> implements Provider<T>, Consumer<Builder> {
 
   private final Type type;
   private final String name;
   private final DBuilder builder;
+  private final Builder lookup;
   private Provider<T> provider;
 
-  ProviderPromise(Type type, String name, DBuilder builder) {
+  /**
+   * Create the promise.
+   *
+   * @param builder The builder the Provider is bound with
+   * @param lookup  The builder used to look up the bean before it is bound
+   */
+  ProviderPromise(Type type, String name, DBuilder builder, Builder lookup) {
     this.type = type;
     this.name = name;
     this.builder = builder;
+    this.lookup = lookup;
   }
 
   @Override
@@ -28,7 +39,8 @@ final class ProviderPromise<T> implements Provider<T>, Consumer<Builder> {
 
   @Override
   public T get() {
-    return provider.get();
+    final Provider<T> bound = provider;
+    return bound != null ? bound.get() : lookup.get(type, name);
   }
 
 }
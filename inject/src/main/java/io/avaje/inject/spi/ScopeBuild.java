@@ -0,0 +1,129 @@
+package io.avaje.inject.spi;
+
+import io.avaje.inject.BeanScope;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * Builds the modules of a bean scope with the options of the BeanScopeBuilder.
+ * <p>
+ * This is used internally by BeanScopeBuilder. Generated code uses {@link Builder}.
+ */
+public final class ScopeBuild {
+
+  private final DBuilder builder;
+
+  private ScopeBuild(DBuilder builder) {
+    this.builder = builder;
+  }
+
+  /**
+   * Create the build of the root level scope.
+   *
+   * @param suppliedBeans  The list of beans (typically test doubles) supplied when building the context.
+   * @param enrichBeans    The list of classes we want to have with mockito spy enhancement
+   * @param parent         The parent BeanScope
+   * @param parentOverride When false do not add beans that already exist on the parent
+   */
+  @SuppressWarnings("rawtypes")
+  public static ScopeBuild of(List<SuppliedBean> suppliedBeans, List<EnrichBean> enrichBeans, BeanScope parent, boolean parentOverride) {
+    return new ScopeBuild((DBuilder) Builder.newBuilder(suppliedBeans, enrichBeans, parent, parentOverride));
+  }
+
+  /**
+   * Record the time taken to build the modules, create the beans, run field and method
+   * injection and run the PostConstruct methods.
+   * <p>
+   * The timings are emitted as Flight Recorder events when a recording is running with the
+   * {@code io.avaje.inject.Bean} event enabled. This is set prior to building the modules.
+   *
+   * @param report When true log a startup report with the slowest beans and critical path
+   */
+  public ScopeBuild recordStartup(boolean report) {
+    builder.recordStartup(report);
+    return this;
+  }
+
+  /**
+   * Run the PostConstruct methods concurrently when the bean scope is built.
+   * <p>
+   * This is set prior to building the modules as the beans that each bean depends on are
+   * captured while the beans are built. A PostConstruct method is then run after the
+   * PostConstruct methods of the beans it depends on have completed.
+   *
+   * @param executor The executor used to run the PostConstruct methods
+   */
+  public ScopeBuild parallelPostConstruct(Executor executor) {
+    builder.parallelPostConstruct(executor);
+    return this;
+  }
+
+  /**
+   * Run the PreDestroy methods concurrently in reverse dependency order when the bean
+   * scope is closed.
+   * <p>
+   * This is set prior to building the modules as the beans that each bean depends on are
+   * captured while the beans are built.
+   *
+   * @param executor    The executor used to run the PreDestroy methods
+   * @param beanTimeout The time to wait for each PreDestroy method
+   * @param timeout     The overall time to wait for all the PreDestroy methods
+   */
+  public ScopeBuild parallelPreDestroy(Executor executor, Duration beanTimeout, Duration timeout) {
+    builder.parallelPreDestroy(executor, beanTimeout, timeout);
+    return this;
+  }
+
+  /**
+   * Merge the parent scope entries into the lookup index of the built scope.
+   */
+  public ScopeBuild flattenParent(boolean flattenParent) {
+    builder.flattenParent(flattenParent);
+    return this;
+  }
+
+  /**
+   * Build the beans of the module.
+   */
+  public void buildModule(Module module) {
+    builder.buildModule(module);
+  }
+
+  /**
+   * Build the beans of the module creating the beans of each dependency level concurrently.
+   * <p>
+   * The beans registered by each level are added in the same order as when building
+   * sequentially. Builds sequentially when the module does not provide build levels or
+   * when there are supplied or enriched beans (test doubles).
+   *
+   * @param module   The module to build
+   * @param executor The executor used to create the beans of a level concurrently
+   */
+  public void buildParallel(Module module, Executor executor) {
+    builder.buildParallel(module, executor);
+  }
+
+  /**
+   * Build the modules concurrently where the modules do not depend on each other.
+   * <p>
+   * The beans registered by each module are added in the order of the given modules.
+   * Builds sequentially when there are supplied or enriched beans (test doubles).
+   *
+   * @param modules  The modules to build
+   * @param executor The executor used to build the modules concurrently
+   */
+  public void buildModules(List<Module> modules, Executor executor) {
+    builder.buildModules(modules, executor);
+  }
+
+  /**
+   * Build and return the bean scope.
+   *
+   * @param withShutdownHook Register a shutdown hook that closes the bean scope
+   */
+  public BeanScope build(boolean withShutdownHook) {
+    return builder.build(withShutdownHook);
+  }
+}
@@ -8,6 +8,7 @@ module io.avaje.inject {
   requires transitive io.avaje.applog;
   requires transitive jakarta.inject;
   requires static org.mockito;
+  requires static jdk.jfr;
 
   uses io.avaje.inject.spi.Module;
   uses io.avaje.inject.spi.Plugin;
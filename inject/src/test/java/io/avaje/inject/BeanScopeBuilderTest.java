@@ -80,6 +80,48 @@ class BeanScopeBuilderTest {
     assertThat(names(factoryOrder.factories())).containsExactly("4", "2", "3", "1");
   }
 
+  @Test
+  void name_depends4_waves() {
+    DBeanScopeBuilder.FactoryOrder factoryOrder = new DBeanScopeBuilder.FactoryOrder(null, Collections.emptySet(), true);
+    factoryOrder.add(bc("1", EMPTY_CLASSES, of(Mod3.class)));
+    factoryOrder.add(bc("2", EMPTY_CLASSES, of(Mod4.class)));
+    factoryOrder.add(bc("3", of(Mod3.class), of(Mod4.class)));
+    factoryOrder.add(bc("4", of(Mod4.class), null));
+
+    factoryOrder.orderFactories();
+
+    List<List<Module>> waves = factoryOrder.waves();
+    assertThat(waves).hasSize(3);
+    assertThat(names(waves.get(0))).containsExactly("4");
+    assertThat(names(waves.get(1))).containsExactly("2", "3");
+    assertThat(names(waves.get(2))).containsExactly("1");
+  }
+
+  @Test
+  void noDepends_waves() {
+    DBeanScopeBuilder.FactoryOrder factoryOrder = new DBeanScopeBuilder.FactoryOrder(null, Collections.emptySet(), true);
+    factoryOrder.add(bc("1", EMPTY_CLASSES, EMPTY_CLASSES));
+    factoryOrder.add(bc("2", EMPTY_CLASSES, EMPTY_CLASSES));
+    factoryOrder.add(bc("one", of(Mod3.class), EMPTY_CLASSES));
+    factoryOrder.orderFactories();
+
+    List<List<Module>> waves = factoryOrder.waves();
+    assertThat(waves).hasSize(1);
+    assertThat(names(waves.get(0))).containsExactly("one", "1", "2");
+  }
+
+  @Test
+  void providedByParent_waves() {
+    DBeanScopeBuilder.FactoryOrder factoryOrder = new DBeanScopeBuilder.FactoryOrder(new TDBeanScope(MyFeature.class), Collections.emptySet(), false);
+    factoryOrder.add(bc("1", EMPTY_CLASSES, of(MyFeature.class)));
+    factoryOrder.add(bc("2", EMPTY_CLASSES, EMPTY_CLASSES));
+    factoryOrder.orderFactories();
+
+    List<List<Module>> waves = factoryOrder.waves();
+    assertThat(waves).hasSize(1);
+    assertThat(names(waves.get(0))).containsExactly("2", "1");
+  }
+
   @Test
   void nameFeature_depends() {
     DBeanScopeBuilder.FactoryOrder factoryOrder = new DBeanScopeBuilder.FactoryOrder(null, Collections.emptySet(), true);
@@ -0,0 +1,68 @@
+package io.avaje.inject;
+
+import io.avaje.inject.spi.TestModule;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BeanScopeCachedListTest {
+
+  private final BeanScope scope = BeanScope.builder()
+    .modules(TestModule.of(builder -> {
+      if (builder.isAddBeanFor("a", String.class, CharSequence.class)) {
+        builder.register("a");
+      }
+      if (builder.isAddBeanFor("b", StringBuilder.class, CharSequence.class)) {
+        builder.register(new StringBuilder("b"));
+      }
+      if (builder.isAddBeanFor(Integer.class, Number.class)) {
+        builder.register(1);
+      }
+      if (builder.isAddBeanFor(Long.class, Number.class)) {
+        builder.asPrototype().registerProvider(() -> System.nanoTime());
+      }
+    }))
+    .build();
+
+  @Test
+  void list_singletons_cachedUnmodifiable() {
+    List<CharSequence> list = scope.list(CharSequence.class);
+    assertThat(list).hasSize(2);
+    assertThat(scope.list(CharSequence.class)).isSameAs(list);
+    assertThat(scope.listByPriority(CharSequence.class)).isSameAs(scope.listByPriority(CharSequence.class));
+    assertThrows(UnsupportedOperationException.class, () -> list.add("c"));
+
+    Map<String, CharSequence> map = scope.map(CharSequence.class);
+    assertThat(map).containsKeys("a", "b");
+    assertThat(scope.map(CharSequence.class)).isSameAs(map);
+  }
+
+  @Test
+  void list_withPrototype_notCached() {
+    List<Number> list = scope.list(Number.class);
+    assertThat(list).hasSize(2);
+    assertThat(scope.list(Number.class)).isNotSameAs(list);
+    assertThat(scope.list(Number.class).get(1)).isNotEqualTo(list.get(1));
+    assertThat(scope.map(Number.class)).isNotSameAs(scope.map(Number.class));
+  }
+
+  @Test
+  void list_childScope_parentListNotModified() {
+    BeanScope child = BeanScope.builder()
+      .modules(TestModule.of(builder -> {
+        if (builder.isAddBeanFor("c", String.class, CharSequence.class)) {
+          builder.register("c");
+        }
+      }))
+      .parent(scope)
+      .build();
+
+    assertThat(child.list(CharSequence.class)).hasSize(3);
+    assertThat(child.map(CharSequence.class)).containsKeys("a", "b", "c");
+    assertThat(scope.list(CharSequence.class)).hasSize(2);
+  }
+}
@@ -0,0 +1,91 @@
+package io.avaje.inject;
+
+import io.avaje.inject.spi.Builder;
+import io.avaje.inject.spi.TestModule;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BeanScopeFlattenParentTest {
+
+  private final BeanScope grand = BeanScope.builder()
+    .modules(TestModule.of(builder -> {
+      register(builder, null, "grand", String.class, CharSequence.class);
+      register(builder, "one", 1, Integer.class, Number.class);
+    }))
+    .build();
+
+  private final BeanScope middle = BeanScope.builder()
+    .modules(TestModule.of(builder -> {
+      register(builder, null, "middle", String.class, CharSequence.class);
+      register(builder, "two", 2L, Long.class, Number.class);
+    }))
+    .parent(grand)
+    .build();
+
+  @Test
+  void flattened_sameAsParentChain() {
+    BeanScope flat = child(middle, true);
+    BeanScope chain = child(middle, false);
+    assertSame(flat, chain);
+  }
+
+  @Test
+  void flattened_withFlattenedParent() {
+    BeanScope flatMiddle = BeanScope.builder()
+      .modules(TestModule.of(builder -> {
+        register(builder, null, "middle", String.class, CharSequence.class);
+        register(builder, "two", 2L, Long.class, Number.class);
+      }))
+      .parent(grand)
+      .flattenParent(true)
+      .build();
+
+    assertSame(child(flatMiddle, true), child(middle, false));
+  }
+
+  private void assertSame(BeanScope flat, BeanScope chain) {
+    // child shadows parent, parent shadows grand
+    assertThat(flat.get(String.class)).isEqualTo("middle");
+    assertThat(flat.get(Integer.class)).isEqualTo(1);
+    assertThat(flat.get(StringBuilder.class).toString()).isEqualTo("child");
+    assertThat(flat.get(Long.class, "two")).isEqualTo(2L);
+    assertThat(flat.get(Number.class, "two")).isEqualTo(chain.get(Number.class, "two"));
+    assertThat(flat.getOptional(Short.class).isPresent()).isFalse();
+    assertThrows(NoSuchElementException.class, () -> flat.get(Short.class));
+
+    List<CharSequence> flatList = flat.list(CharSequence.class);
+    List<CharSequence> chainList = chain.list(CharSequence.class);
+    assertThat(flatList).hasSize(3);
+    assertThat(flatList.get(0).toString()).isEqualTo("child");
+    assertThat(flatList.subList(1, 3)).containsExactly("middle", "grand");
+    assertThat(chainList.subList(1, 3)).containsExactly("middle", "grand");
+
+    assertThat(flat.map(Number.class)).containsEntry("one", 1).containsEntry("two", 2L).containsEntry("three", 3.0d);
+    assertThat(flat.map(Number.class)).isEqualTo(chain.map(Number.class));
+    assertThat(flat.contains(String.class)).isFalse();
+    assertThat(flat.contains(StringBuilder.class)).isTrue();
+  }
+
+  private static BeanScope child(BeanScope parent, boolean flattenParent) {
+    return BeanScope.builder()
+      .modules(TestModule.of(builder -> {
+        register(builder, null, new StringBuilder("child"), StringBuilder.class, CharSequence.class);
+        register(builder, "three", 3.0d, Double.class, Number.class);
+      }))
+      .parent(parent)
+      .flattenParent(flattenParent)
+      .build();
+  }
+
+  private static void register(Builder builder, String name, Object bean, Type... types) {
+    if (builder.isAddBeanFor(name, types)) {
+      builder.register(bean);
+    }
+  }
+}
@@ -0,0 +1,112 @@
+package io.avaje.inject;
+
+import io.avaje.inject.spi.TestModule;
+import jakarta.inject.Provider;
+import org.junit.jupiter.api.Test;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BeanScopeHandleTest {
+
+  private final AtomicInteger counter = new AtomicInteger();
+
+  private final BeanScope scope = BeanScope.builder()
+    .modules(TestModule.of(builder -> {
+      if (builder.isAddBeanFor("a", String.class, CharSequence.class)) {
+        builder.register("a");
+      }
+      if (builder.isAddBeanFor("b", StringBuilder.class, CharSequence.class)) {
+        builder.register(new StringBuilder("b"));
+      }
+      if (builder.isAddBeanFor(Integer.class, Number.class)) {
+        builder.asPrototype().registerProvider(counter::incrementAndGet);
+      }
+    }))
+    .build();
+
+  @Test
+  void handle_singleton() {
+    BeanHandle<CharSequence> handle = scope.handle(CharSequence.class, "b");
+    assertThat(handle.get()).isSameAs(scope.get(CharSequence.class, "b"));
+    assertThat(handle.get()).isSameAs(handle.get());
+    assertThat(scope.<String>handle(String.class, null).get()).isEqualTo("a");
+  }
+
+  @Test
+  void handle_prototype() {
+    BeanHandle<Integer> handle = scope.handle(Integer.class, null);
+    int first = handle.get();
+    assertThat(handle.get()).isEqualTo(first + 1);
+  }
+
+  @Test
+  void handle_parent() {
+    BeanScope child = BeanScope.builder()
+      .modules(TestModule.of(builder -> {
+        if (builder.isAddBeanFor(Long.class, Number.class)) {
+          builder.register(42L);
+        }
+      }))
+      .parent(scope)
+      .build();
+
+    assertThat(child.<CharSequence>handle(CharSequence.class, "a").get()).isEqualTo("a");
+    assertThat(child.<Long>handle(Long.class, null).get()).isEqualTo(42L);
+  }
+
+  @Test
+  void handle_notFound() {
+    assertThrows(NoSuchElementException.class, () -> scope.handle(Long.class, null));
+  }
+
+  @Test
+  void handle_builder() {
+    AtomicReference<BeanHandle<CharSequence>> handle = new AtomicReference<>();
+    BeanScope.builder()
+      .modules(TestModule.of(builder -> {
+        handle.set(builder.handle(CharSequence.class, null));
+        if (builder.isAddBeanFor(StringBuilder.class, CharSequence.class)) {
+          builder.asPrimary().register(new StringBuilder("primary"));
+        }
+      }))
+      .parent(scope)
+      .build();
+
+    assertThat(handle.get().get()).hasToString("primary");
+  }
+
+  @Test
+  void provider_boundAtEndOfBuild_primaryRegisteredLater() {
+    AtomicReference<Provider<CharSequence>> provider = new AtomicReference<>();
+    BeanScope.builder()
+      .modules(TestModule.of(builder -> {
+        if (builder.isAddBeanFor(String.class, CharSequence.class)) {
+          builder.register("a");
+        }
+        provider.set(builder.getProvider(CharSequence.class));
+        if (builder.isAddBeanFor(StringBuilder.class, CharSequence.class)) {
+          builder.asPrimary().register(new StringBuilder("primary"));
+        }
+      }))
+      .build();
+
+    assertThat(provider.get().get()).hasToString("primary");
+  }
+
+  @Test
+  void provider_parent() {
+    AtomicReference<Provider<Integer>> provider = new AtomicReference<>();
+    BeanScope.builder()
+      .modules(TestModule.of(builder -> provider.set(builder.getProvider(Integer.class))))
+      .parent(scope)
+      .build();
+
+    int first = provider.get().get();
+    assertThat(provider.get().get()).isEqualTo(first + 1);
+  }
+}
@@ -0,0 +1,65 @@
+package io.avaje.inject;
+
+import io.avaje.inject.spi.Builder;
+import io.avaje.inject.spi.Module;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BeanScopeLazyTest {
+
+  private final List<String> events = new ArrayList<>();
+
+  @Test
+  void lazy_notCreated_notClosed() {
+    BeanScope scope = build();
+    assertThat(events).isEmpty();
+    scope.close();
+    assertThat(events).isEmpty();
+  }
+
+  @Test
+  void lazy_createdOnce_closedWithScope() {
+    BeanScope scope = build();
+    StringBuilder bean = scope.get(StringBuilder.class);
+    assertThat(scope.get(StringBuilder.class)).isSameAs(bean);
+    assertThat(events).containsExactly("created");
+
+    scope.close();
+    assertThat(events).containsExactly("created", "closed");
+  }
+
+  @Test
+  void lazy_createdAfterClose_closedImmediately() {
+    BeanScope scope = build();
+    scope.close();
+    scope.get(StringBuilder.class);
+    assertThat(events).containsExactly("created", "closed");
+  }
+
+  private BeanScope build() {
+    return BeanScope.builder()
+      .modules(new Module() {
+        @Override
+        public Class<?>[] classes() {
+          return new Class<?>[0];
+        }
+
+        @Override
+        public void build(Builder builder) {
+          if (builder.isAddBeanFor(StringBuilder.class)) {
+            builder.registerProvider(() -> {
+              var bean = new StringBuilder("lazy");
+              events.add("created");
+              builder.addPreDestroy(() -> events.add("closed"));
+              return bean;
+            });
+          }
+        }
+      })
+      .build();
+  }
+}
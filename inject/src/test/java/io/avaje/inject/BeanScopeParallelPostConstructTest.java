@@ -0,0 +1,90 @@
+package io.avaje.inject;
+
+import io.avaje.inject.spi.Builder;
+import io.avaje.inject.spi.Module;
+import io.avaje.inject.spi.TestModule;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BeanScopeParallelPostConstructTest {
+
+  private final ExecutorService executor = Executors.newFixedThreadPool(4);
+  private final CountDownLatch independentRan = new CountDownLatch(1);
+  private final List<String> events = Collections.synchronizedList(new ArrayList<>());
+
+  @AfterEach
+  void shutdown() {
+    executor.shutdown();
+  }
+
+  @Test
+  void parallelPostConstruct() {
+    try (BeanScope scope = BeanScope.builder().modules(TestModule.of(this::build)).parallelPostConstruct(executor).build()) {
+      assertThat(scope.get(Long.class)).isEqualTo(2L);
+      // the independent PostConstruct ran while the first was still running
+      assertThat(events).containsExactlyInAnyOrder("c", "a:true", "b", "d");
+      assertThat(events.indexOf("c")).isLessThan(events.indexOf("a:true"));
+      // run after the PostConstruct of the bean they depend on (via constructor and field)
+      assertThat(events.indexOf("a:true")).isLessThan(events.indexOf("b"));
+      assertThat(events.indexOf("a:true")).isLessThan(events.indexOf("d"));
+    }
+  }
+
+  @Test
+  void parallelPostConstruct_exceptionPropagated() {
+    Module module = TestModule.of(builder -> {
+      if (builder.isAddBeanFor(String.class)) {
+        builder.register("a");
+        builder.addPostConstruct(() -> {
+          throw new IllegalStateException("boom");
+        });
+      }
+    });
+    IllegalStateException e = assertThrows(IllegalStateException.class, () -> BeanScope.builder().modules(module).parallelPostConstruct(executor).build());
+    assertThat(e.getMessage()).isEqualTo("boom");
+  }
+
+  private void build(Builder builder) {
+    if (builder.isAddBeanFor(String.class)) {
+      builder.register("a");
+      builder.addPostConstruct(() -> events.add("a:" + await()));
+    }
+    if (builder.isAddBeanFor(Long.class)) {
+      builder.register(builder.get(String.class).length() + 1L);
+      builder.addPostConstruct(() -> events.add("b"));
+    }
+    if (builder.isAddBeanFor(StringBuilder.class)) {
+      builder.register(new StringBuilder("c"));
+      builder.addPostConstruct(() -> {
+        events.add("c");
+        independentRan.countDown();
+      });
+    }
+    if (builder.isAddBeanFor(Integer.class)) {
+      int[] field = new int[1];
+      builder.register(4);
+      builder.addInjector(b -> field[0] = b.get(String.class).length());
+      builder.addPostConstruct(() -> events.add("d"));
+    }
+  }
+
+  private boolean await() {
+    try {
+      return independentRan.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+}
@@ -0,0 +1,157 @@
+package io.avaje.inject;
+
+import io.avaje.inject.spi.Builder;
+import io.avaje.inject.spi.TestModule;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BeanScopeParallelPreDestroyTest {
+
+  private final ExecutorService executor = Executors.newFixedThreadPool(4);
+  private final CountDownLatch independentClosed = new CountDownLatch(1);
+  private final CountDownLatch release = new CountDownLatch(1);
+  private final List<String> events = Collections.synchronizedList(new ArrayList<>());
+
+  @AfterEach
+  void shutdown() {
+    release.countDown();
+    executor.shutdown();
+  }
+
+  @Test
+  void reverseDependencyOrder() {
+    BeanScope scope = BeanScope.builder()
+      .modules(TestModule.of(this::build))
+      .parallelPreDestroy(executor, Duration.ofSeconds(5), Duration.ofSeconds(10))
+      .build();
+
+    scope.close();
+    assertThat(events).containsExactlyInAnyOrder("c", "b:true", "a");
+    // the independent bean closed while the dependent bean was closing
+    assertThat(events.indexOf("c")).isLessThan(events.indexOf("b:true"));
+    // the dependent bean closed before the bean it depends on
+    assertThat(events.indexOf("b:true")).isLessThan(events.indexOf("a"));
+  }
+
+  @Test
+  void lazyBean_closedAfterTheBeanDependingOnIt() {
+    BeanScope scope = BeanScope.builder()
+      .modules(TestModule.of(builder -> {
+        if (builder.isAddBeanFor(String.class)) {
+          builder.register("a");
+          builder.addPreDestroy(() -> events.add("a"));
+        }
+        if (builder.isAddBeanFor(StringBuilder.class)) {
+          builder.registerProvider(() -> {
+            StringBuilder lazy = new StringBuilder("lazy");
+            // created after "a" was registered while building the bean depending on it
+            builder.addPreDestroy(() -> events.add("lazy"), lazy);
+            return lazy;
+          });
+        }
+        if (builder.isAddBeanFor(Long.class)) {
+          builder.register((long) builder.get(StringBuilder.class).length());
+          builder.addPreDestroy(() -> {
+            sleep();
+            events.add("b");
+          });
+        }
+      }))
+      .parallelPreDestroy(executor, Duration.ofSeconds(5), Duration.ofSeconds(10))
+      .build();
+
+    scope.close();
+    assertThat(events).containsExactlyInAnyOrder("a", "lazy", "b");
+    // the lazy bean closed after the bean depending on it
+    assertThat(events.indexOf("b")).isLessThan(events.indexOf("lazy"));
+  }
+
+  @Test
+  void beanTimeout_dependencyClosedAfterTimeout() {
+    BeanScope scope = BeanScope.builder()
+      .modules(TestModule.of(builder -> {
+        if (builder.isAddBeanFor(String.class)) {
+          builder.register("a");
+          builder.addPreDestroy(() -> events.add("a"));
+        }
+        if (builder.isAddBeanFor(Long.class)) {
+          builder.register(builder.get(String.class).length() + 1L);
+          builder.addPreDestroy(this::awaitRelease);
+        }
+      }))
+      .parallelPreDestroy(executor, Duration.ofMillis(100), Duration.ofSeconds(10))
+      .build();
+
+    long start = System.nanoTime();
+    scope.close();
+    assertThat(events).containsExactly("a");
+    assertThat(System.nanoTime() - start).isLessThan(TimeUnit.SECONDS.toNanos(5));
+  }
+
+  @Test
+  void timeout_closeReturns() {
+    BeanScope scope = BeanScope.builder()
+      .modules(TestModule.of(builder -> {
+        if (builder.isAddBeanFor(String.class)) {
+          builder.register("a");
+          builder.addPreDestroy(this::awaitRelease);
+        }
+      }))
+      .parallelPreDestroy(executor, Duration.ofSeconds(20), Duration.ofMillis(100))
+      .build();
+
+    long start = System.nanoTime();
+    scope.close();
+    assertThat(System.nanoTime() - start).isLessThan(TimeUnit.SECONDS.toNanos(5));
+  }
+
+  private void build(Builder builder) {
+    if (builder.isAddBeanFor(String.class)) {
+      builder.register("a");
+      builder.addPreDestroy(() -> events.add("a"));
+    }
+    if (builder.isAddBeanFor(Long.class)) {
+      builder.register(builder.get(String.class).length() + 1L);
+      builder.addPreDestroy(() -> events.add("b:" + await(independentClosed)));
+    }
+    if (builder.isAddBeanFor(StringBuilder.class)) {
+      builder.register(new StringBuilder("c"));
+      builder.addPreDestroy(() -> {
+        events.add("c");
+        independentClosed.countDown();
+      });
+    }
+  }
+
+  private static void sleep() {
+    try {
+      Thread.sleep(100);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void awaitRelease() {
+    await(release);
+  }
+
+  private static boolean await(CountDownLatch latch) {
+    try {
+      return latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+}
@@ -0,0 +1,223 @@
+package io.avaje.inject;
+
+import io.avaje.inject.spi.Builder;
+import io.avaje.inject.spi.Module;
+import io.avaje.inject.spi.TestModule;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BeanScopeParallelTest {
+
+  private final ExecutorService executor = Executors.newFixedThreadPool(4);
+  private final CountDownLatch bothRunning = new CountDownLatch(2);
+  private final List<String> events = new ArrayList<>();
+
+  @AfterEach
+  void shutdown() {
+    executor.shutdown();
+  }
+
+  @Test
+  void parallelBeans() {
+    Module module = module(List.of(
+      List.of(this::buildA, this::buildB),
+      List.of(this::buildLength)));
+
+    try (BeanScope scope = BeanScope.builder().modules(module).parallelBeans(executor).build()) {
+      // registered in level order regardless of which completed first
+      assertThat(scope.list(CharSequence.class)).extracting(CharSequence::toString).containsExactly("a", "b");
+      assertThat(scope.get(String.class)).isEqualTo("a");
+      assertThat(scope.get(StringBuilder.class, "b").toString()).isEqualTo("b");
+      assertThat(scope.get(Long.class)).isEqualTo(2L);
+      assertThat(scope.get(Number.class)).isEqualTo(2L);
+      // both beans of the first level were created concurrently
+      assertThat(events).containsExactlyInAnyOrder("a:true", "b:true", "postConstruct");
+      assertThat(events.get(2)).isEqualTo("postConstruct");
+    }
+  }
+
+  @Test
+  void parallelBeans_priorityCaptured() {
+    Module module = module(List.of(
+      List.of(builder -> {
+        if (builder.isAddBeanFor("x", String.class, CharSequence.class)) {
+          builder.withPriority(Priority.class, 20).register("x");
+        }
+      }, builder -> {
+        if (builder.isAddBeanFor("y", StringBuilder.class, CharSequence.class)) {
+          builder.withPriority(Priority.class, 10).register(new StringBuilder("y"));
+        }
+      })));
+
+    try (BeanScope scope = BeanScope.builder().modules(module).parallelBeans(executor).build()) {
+      assertThat(scope.listByPriority(CharSequence.class)).extracting(CharSequence::toString).containsExactly("y", "x");
+    }
+  }
+
+  @Test
+  void parallelBeans_lazyBeanCreatedByConcurrentSteps() {
+    Module module = module(List.of(
+      List.of(builder -> {
+        if (builder.isAddBeanFor(StringBuilder.class, CharSequence.class)) {
+          builder.registerProvider(() -> {
+            builder.addPreDestroy(() -> events.add("closed"));
+            return new StringBuilder("lazy");
+          });
+        }
+      }),
+      List.of(this::buildLazyA, this::buildLazyB)));
+
+    BeanScope scope = BeanScope.builder().modules(module).parallelBeans(executor).build();
+    assertThat(scope.get(String.class)).isEqualTo("lazy");
+    assertThat(scope.get(Integer.class)).isEqualTo(4);
+    scope.close();
+    assertThat(events).containsExactly("closed");
+  }
+
+  @Test
+  void parallelBeans_stepReadsBeansMatchedWithEarlierLevels() {
+    Module module = module(List.of(
+      List.of(builder -> {
+        if (builder.isAddBeanFor("a", StringBuilder.class)) {
+          builder.register(new StringBuilder("a"));
+        }
+        if (builder.isAddBeanFor(Long.class, Number.class)) {
+          builder.asPrimary().register(1L);
+        }
+      }),
+      List.of(builder -> {
+        if (builder.isAddBeanFor("b", StringBuilder.class)) {
+          builder.register(new StringBuilder("b"));
+        }
+        if (builder.isAddBeanFor(Double.class, Number.class)) {
+          builder.register(2D);
+        }
+        if (builder.isAddBeanFor(String.class)) {
+          // qualified and primary beans of the earlier level match as when built sequentially
+          builder.register(builder.get(StringBuilder.class, "a") + ":" + builder.get(Number.class));
+        }
+      }, builder -> {
+        if (builder.isAddBeanFor(Integer.class)) {
+          builder.register(builder.get(StringBuilder.class, "a").length());
+        }
+      })));
+
+    try (BeanScope scope = BeanScope.builder().modules(module).parallelBeans(executor).build()) {
+      assertThat(scope.get(String.class)).isEqualTo("a:1");
+      assertThat(scope.get(StringBuilder.class, "b").toString()).isEqualTo("b");
+      assertThat(scope.get(Integer.class)).isEqualTo(1);
+    }
+  }
+
+  @Test
+  void parallelBeans_withoutLevels_buildsSequentially() {
+    Module module = module(null);
+    try (BeanScope scope = BeanScope.builder().modules(module).parallelBeans(executor).build()) {
+      assertThat(scope.get(Long.class)).isEqualTo(42L);
+    }
+  }
+
+  @Test
+  void parallelBeans_exceptionPropagated() {
+    Module module = module(List.of(
+      List.of(this::buildA, builder -> {
+        throw new IllegalStateException("boom");
+      })));
+
+    IllegalStateException e = assertThrows(IllegalStateException.class, () -> BeanScope.builder().modules(module).parallelBeans(executor).build());
+    assertThat(e.getMessage()).isEqualTo("boom");
+  }
+
+  @Test
+  void parallelBeans_exceptionPropagatedAfterAllStepsComplete() {
+    Module module = module(List.of(
+      List.of(builder -> {
+        throw new IllegalStateException("boom");
+      }, builder -> {
+        try {
+          Thread.sleep(100);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        synchronized (events) {
+          events.add("completed");
+        }
+      })));
+
+    IllegalStateException e = assertThrows(IllegalStateException.class, () -> BeanScope.builder().modules(module).parallelBeans(executor).build());
+    assertThat(e.getMessage()).isEqualTo("boom");
+    synchronized (events) {
+      assertThat(events).containsExactly("completed");
+    }
+  }
+
+  private void buildA(Builder builder) {
+    if (builder.isAddBeanFor(String.class, CharSequence.class)) {
+      boolean concurrent = awaitBoth();
+      builder.register("a");
+      synchronized (events) {
+        events.add("a:" + concurrent);
+      }
+    }
+  }
+
+  private void buildB(Builder builder) {
+    if (builder.isAddBeanFor("b", StringBuilder.class, CharSequence.class)) {
+      boolean concurrent = awaitBoth();
+      builder.register(new StringBuilder("b"));
+      synchronized (events) {
+        events.add("b:" + concurrent);
+      }
+    }
+  }
+
+  private void buildLength(Builder builder) {
+    if (builder.isAddBeanFor(Long.class, Number.class)) {
+      builder.register((long) (builder.get(String.class).length() + builder.get(StringBuilder.class, "b").length()));
+      builder.addPostConstruct(() -> events.add("postConstruct"));
+    }
+  }
+
+  private void buildLazyA(Builder builder) {
+    if (builder.isAddBeanFor(String.class)) {
+      awaitBoth();
+      builder.register(builder.get(StringBuilder.class).toString());
+    }
+  }
+
+  private void buildLazyB(Builder builder) {
+    if (builder.isAddBeanFor(Integer.class)) {
+      awaitBoth();
+      builder.register(builder.get(StringBuilder.class).length());
+    }
+  }
+
+  private boolean awaitBoth() {
+    bothRunning.countDown();
+    try {
+      return bothRunning.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  private static Module module(List<List<Consumer<Builder>>> levels) {
+    return TestModule.of(builder -> {
+      if (builder.isAddBeanFor(Long.class)) {
+        builder.register(42L);
+      }
+    }, levels);
+  }
+}
@@ -0,0 +1,128 @@
+package io.avaje.inject;
+
+import io.avaje.inject.spi.TestModule;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BeanScopePriorityTest {
+
+  private final BeanScope scope = BeanScope.builder()
+    .modules(TestModule.of(builder -> {
+      if (builder.isAddBeanFor("a", String.class, CharSequence.class)) {
+        builder.withPriority(Priority.class, 30).register("a");
+      }
+      if (builder.isAddBeanFor("b", StringBuilder.class, CharSequence.class)) {
+        builder.withPriority(Priority.class, 10).withPriority(Other.class, 2).register(new StringBuilder("b"));
+      }
+      if (builder.isAddBeanFor(CharSequence.class)) {
+        // like a factory method bean the runtime type is not known at compile time
+        builder.register(new Reflected());
+      }
+    }))
+    .build();
+
+  @Test
+  void listByPriority_precomputed() {
+    assertThat(scope.listByPriority(CharSequence.class))
+      .extracting(CharSequence::toString)
+      .containsExactly("b", "reflected", "a");
+  }
+
+  @Test
+  void listByPriority_otherAnnotation() {
+    assertThat(scope.listByPriority(CharSequence.class, Other.class))
+      .extracting(CharSequence::toString)
+      .containsExactly("b", "a", "reflected");
+  }
+
+  @Test
+  void listByPriority_withParent() {
+    BeanScope child = BeanScope.builder()
+      .modules(TestModule.of(builder -> {
+        if (builder.isAddBeanFor("c", String.class, CharSequence.class)) {
+          builder.withPriority(Priority.class, 15).register("c");
+        }
+      }))
+      .parent(scope)
+      .build();
+
+    assertThat(child.listByPriority(CharSequence.class))
+      .extracting(CharSequence::toString)
+      .containsExactly("b", "c", "reflected", "a");
+  }
+
+  @Test
+  void listByPriority_registeredType_notReflected() {
+    BeanScope child = BeanScope.builder()
+      .modules(TestModule.of(builder -> {
+        if (builder.isAddBeanFor(Reflected.class, CharSequence.class)) {
+          // the priority annotations of the registered type were read at compile time
+          builder.register(new Reflected());
+        }
+        if (builder.isAddBeanFor("c", String.class, CharSequence.class)) {
+          builder.withPriority(Priority.class, 15).register("c");
+        }
+      }))
+      .build();
+
+    assertThat(child.listByPriority(CharSequence.class))
+      .extracting(CharSequence::toString)
+      .containsExactly("c", "reflected");
+    // not captured for other annotations so read via reflection
+    assertThat(child.listByPriority(CharSequence.class, Other.class))
+      .extracting(CharSequence::toString)
+      .containsExactly("reflected", "c");
+  }
+
+  @Test
+  void listByPriority_prototype_createdOnce() {
+    AtomicInteger created = new AtomicInteger();
+    BeanScope child = BeanScope.builder()
+      .modules(TestModule.of(builder -> {
+        if (builder.isAddBeanFor(StringBuilder.class, CharSequence.class)) {
+          builder.asPrototype().registerProvider(() -> new StringBuilder("p" + created.incrementAndGet()));
+        }
+      }))
+      .build();
+
+    assertThat(child.listByPriority(CharSequence.class))
+      .extracting(CharSequence::toString)
+      .containsExactly("p1");
+    assertThat(created.get()).isEqualTo(1);
+  }
+
+  @java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.RUNTIME)
+  @interface Other {
+    int value();
+  }
+
+  /**
+   * Registered without precomputed priority so read via reflection.
+   */
+  @Priority(20)
+  static class Reflected implements CharSequence {
+
+    @Override
+    public int length() {
+      return toString().length();
+    }
+
+    @Override
+    public char charAt(int index) {
+      return toString().charAt(index);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+      return toString().subSequence(start, end);
+    }
+
+    @Override
+    public String toString() {
+      return "reflected";
+    }
+  }
+}
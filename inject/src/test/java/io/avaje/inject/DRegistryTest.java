@@ -0,0 +1,175 @@
+package io.avaje.inject;
+
+import io.avaje.inject.spi.Builder;
+import io.avaje.inject.spi.Module;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DRegistryTest {
+
+  @Test
+  void ordered_noResource() {
+    assertThat(DRegistry.ordered(loader(), List.of(new RegistryModule()))).isNull();
+  }
+
+  @Test
+  void ordered_hashMatches_registryOrder() throws IOException {
+    List<Module> loaded = List.of(new Requiring(), new RegistryModule());
+    DRegistry registry = read(registry(RegistryModule.class, Requiring.class) + "order " + DRegistry.hash(loaded) + "\n");
+    List<Module> ordered = registry.ordered(loaded);
+    assertThat(ordered).hasSize(2);
+    assertThat(ordered.get(0)).isInstanceOf(RegistryModule.class);
+    assertThat(ordered.get(1)).isInstanceOf(Requiring.class);
+  }
+
+  @Test
+  void ordered_hashDiffers_null() throws IOException {
+    List<Module> loaded = List.of(new Requiring(), new RegistryModule());
+    DRegistry registry = read(registry(RegistryModule.class, Requiring.class) + "order " + DRegistry.hash(List.of(new RegistryModule())) + "\n");
+    assertThat(registry.ordered(loaded)).isNull();
+  }
+
+  @Test
+  void ordered_moduleNotDiscovered_null() throws IOException {
+    List<Module> discovered = List.of(new RegistryModule());
+    // the hash is of the discovered modules rather than the modules listed in the registry
+    DRegistry registry = read(registry(RegistryModule.class, Requiring.class) + "order " + DRegistry.hash(List.of(new RegistryModule(), new Requiring())) + "\n");
+    assertThat(registry.ordered(discovered)).isNull();
+  }
+
+  @Test
+  void ordered_discoveredModuleNotListed_null() throws IOException {
+    List<Module> discovered = List.of(new RegistryModule(), new Requiring());
+    DRegistry registry = read(registry(RegistryModule.class, RegistryModule.class) + "order " + DRegistry.hash(discovered) + "\n");
+    assertThat(registry.ordered(discovered)).isNull();
+  }
+
+  @Test
+  void ordered_noOrder_null() throws IOException {
+    DRegistry registry = read(registry(RegistryModule.class));
+    assertThat(registry.ordered(List.of(new RegistryModule()))).isNull();
+  }
+
+  @Test
+  void ordered_registryResource() {
+    List<Module> loaded = List.of(new Requiring(), new RegistryModule());
+    String matching = registry(RegistryModule.class, Requiring.class) + "order " + DRegistry.hash(loaded) + "\n";
+
+    List<Module> ordered = DRegistry.ordered(loader(matching), loaded);
+    assertThat(ordered).hasSize(2);
+    assertThat(ordered.get(0)).isInstanceOf(RegistryModule.class);
+    assertThat(ordered.get(1)).isInstanceOf(Requiring.class);
+  }
+
+  @Test
+  void ordered_staleRegistryResource_null() {
+    List<Module> loaded = List.of(new Requiring(), new RegistryModule());
+    // a stale registry (or the one of a dependency) that lists only some of the modules
+    String stale = registry(RegistryModule.class) + "order " + DRegistry.hash(List.of(new RegistryModule())) + "\n";
+    assertThat(DRegistry.ordered(loader(stale), loaded)).isNull();
+  }
+
+  @Test
+  void precomputedOrder_valid() throws IOException {
+    List<Module> loaded = List.of(new Requiring(), new RegistryModule());
+    DRegistry registry = read(registry(RegistryModule.class, Requiring.class) + "order " + DRegistry.hash(loaded) + "\n");
+    DBeanScopeBuilder.FactoryOrder factoryOrder = new DBeanScopeBuilder.FactoryOrder(null, Collections.emptySet(), false);
+    assertThat(factoryOrder.addOrdered(registry.ordered(loaded))).isTrue();
+  }
+
+  @Test
+  void precomputedOrder_invalid_resolvedAtStartup() throws IOException {
+    List<Module> loaded = List.of(new RegistryModule(), new Requiring());
+    // listed in an order that does not satisfy the requires
+    DRegistry registry = read(registry(Requiring.class, RegistryModule.class) + "order " + DRegistry.hash(loaded) + "\n");
+    DBeanScopeBuilder.FactoryOrder factoryOrder = new DBeanScopeBuilder.FactoryOrder(null, Collections.emptySet(), false);
+    assertThat(factoryOrder.addOrdered(registry.ordered(loaded))).isFalse();
+  }
+
+  private static String registry(Class<?>... modules) {
+    StringBuilder sb = new StringBuilder();
+    for (Class<?> module : modules) {
+      sb.append("module ").append(module.getName()).append('\n');
+    }
+    return sb.toString();
+  }
+
+  private static DRegistry read(String content) throws IOException {
+    return DRegistry.read(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  private ClassLoader loader() {
+    return loader(null);
+  }
+
+  private ClassLoader loader(String registryContent) {
+    URL url = registryContent == null ? null : write(registryContent);
+    return new ClassLoader(getClass().getClassLoader()) {
+      @Override
+      public URL getResource(String name) {
+        return DRegistry.RESOURCE.equals(name) ? url : super.getResource(name);
+      }
+    };
+  }
+
+  private static URL write(String content) {
+    try {
+      File file = File.createTempFile("avaje-inject-registry", ".txt");
+      file.deleteOnExit();
+      Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+      return file.toURI().toURL();
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  public static class RegistryModule implements Module {
+
+    @Override
+    public Class<?>[] provides() {
+      return new Class<?>[]{String.class};
+    }
+
+    @Override
+    public Class<?>[] classes() {
+      return new Class<?>[0];
+    }
+
+    @Override
+    public void build(Builder builder) {
+      if (builder.isAddBeanFor(String.class)) {
+        builder.register("fromRegistry");
+      }
+    }
+  }
+
+  public static class Requiring implements Module {
+
+    @Override
+    public Class<?>[] requires() {
+      return new Class<?>[]{String.class};
+    }
+
+    @Override
+    public Class<?>[] classes() {
+      return new Class<?>[0];
+    }
+
+    @Override
+    public void build(Builder builder) {
+      if (builder.isAddBeanFor(Integer.class)) {
+        builder.register(builder.get(String.class).length());
+      }
+    }
+  }
+}
@@ -0,0 +1,127 @@
+package io.avaje.inject.aop;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InterceptorChainTest {
+
+  private final List<String> trace = new ArrayList<>();
+  private final MethodDescriptor doStuffMethod = MethodDescriptor.of(InterceptorChainTest.class, "doStuff", String.class);
+
+  String doStuff(String arg) {
+    trace.add("doStuff");
+    return "hello " + arg;
+  }
+
+  @Test
+  void invoke_outerMostFirst() throws Throwable {
+    InterceptorChain chain = InterceptorChain.of(new Trace("Inter1"), new Trace("Inter0"));
+    Invocation.Build<String> call = new Invocation.Call<>(() -> doStuff("a")).with(this, doStuffMethod, "a");
+
+    chain.invoke(call);
+
+    assertThat(call.finalResult()).isEqualTo("hello a");
+    assertThat(trace).containsExactly("b-Inter1", "b-Inter0", "doStuff", "a-Inter0", "a-Inter1");
+  }
+
+  @Test
+  void invoke_retryInvokesInnerInterceptorsAgain() throws Throwable {
+    MethodInterceptor retry = invocation -> {
+      invocation.invoke();
+      invocation.invoke();
+    };
+    InterceptorChain chain = InterceptorChain.of(retry, new Trace("Inter0"));
+    Invocation.Build<Void> call = new Invocation.Run(() -> doStuff("a")).with(this, doStuffMethod, "a");
+
+    chain.invoke(call);
+
+    assertThat(trace).containsExactly("b-Inter0", "doStuff", "a-Inter0", "b-Inter0", "doStuff", "a-Inter0");
+  }
+
+  @Test
+  void invoke_interceptorsGivenTheOneInvocation() throws Throwable {
+    List<Invocation> given = new ArrayList<>();
+    MethodInterceptor capture = invocation -> {
+      given.add(invocation);
+      invocation.invoke();
+    };
+    InterceptorChain chain = InterceptorChain.of(capture, capture);
+    Invocation.Build<String> call = new Invocation.Call<>(() -> doStuff("a")).with(this, doStuffMethod, "a");
+
+    chain.invoke(call);
+
+    // no continuation is created per interceptor
+    assertThat(given).containsExactly(call, call);
+    assertThat(call.finalResult()).isEqualTo("hello a");
+  }
+
+  @Test
+  void invoke_replaceResult() throws Throwable {
+    MethodInterceptor replace = invocation -> {
+      invocation.invoke();
+      invocation.result("replaced");
+    };
+    InterceptorChain chain = InterceptorChain.of(new Trace("Inter1"), replace);
+    Invocation.Build<String> call = new Invocation.Call<>(() -> doStuff("a")).with(this, doStuffMethod, "a");
+
+    chain.invoke(call);
+
+    assertThat(call.finalResult()).isEqualTo("replaced");
+  }
+
+  @Test
+  void invoke_empty() throws Throwable {
+    Invocation.Build<String> call = new Invocation.Call<>(() -> doStuff("a")).with(this, doStuffMethod, "a");
+
+    InterceptorChain.of().invoke(call);
+
+    assertThat(call.finalResult()).isEqualTo("hello a");
+    assertThat(trace).containsExactly("doStuff");
+  }
+
+  @Test
+  void of_excludesNoopAndNull() throws Throwable {
+    InterceptorChain chain = InterceptorChain.of(MethodInterceptor.NOOP, new Trace("Inter0"), null);
+    assertThat(chain.size()).isEqualTo(1);
+    assertThat(chain.isEmpty()).isFalse();
+
+    Invocation.Build<String> call = new Invocation.Call<>(() -> doStuff("a")).with(this, doStuffMethod, "a");
+    chain.invoke(call);
+
+    assertThat(call.finalResult()).isEqualTo("hello a");
+    assertThat(trace).containsExactly("b-Inter0", "doStuff", "a-Inter0");
+  }
+
+  @Test
+  void of_allNoop_isEmpty() {
+    assertThat(InterceptorChain.of(MethodInterceptor.NOOP, null).isEmpty()).isTrue();
+  }
+
+  @Test
+  void noop_invokes() throws Throwable {
+    Invocation.Build<String> call = new Invocation.Call<>(() -> doStuff("a")).with(this, doStuffMethod, "a");
+    MethodInterceptor.NOOP.invoke(call);
+
+    assertThat(call.finalResult()).isEqualTo("hello a");
+  }
+
+  final class Trace implements MethodInterceptor {
+
+    private final String name;
+
+    Trace(String name) {
+      this.name = name;
+    }
+
+    @Override
+    public void invoke(Invocation invocation) throws Throwable {
+      trace.add("b-" + name);
+      invocation.invoke();
+      trace.add("a-" + name);
+    }
+  }
+}
@@ -0,0 +1,162 @@
+package io.avaje.inject.aop;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InvocationAsyncTest {
+
+  private final List<String> trace = new ArrayList<>();
+  private final MethodDescriptor doAsyncMethod = MethodDescriptor.of(InvocationAsyncTest.class, "doAsync", String.class);
+  private final CompletableFuture<String> future = new CompletableFuture<>();
+
+  CompletableFuture<String> doAsync(String arg) {
+    trace.add("doAsync " + arg);
+    return future;
+  }
+
+  public CompletableFuture<String> fallbackAsync(String arg, Throwable e) {
+    trace.add("fallback " + e.getMessage());
+    return CompletableFuture.completedFuture("fallback-" + arg);
+  }
+
+  public String fallbackValue(String arg) {
+    return "value-" + arg;
+  }
+
+  final class DoAsyncInvocation extends Invocation.AsyncSuper<CompletableFuture<String>> {
+
+    private final String arg;
+
+    DoAsyncInvocation(String arg) {
+      this.arg = arg;
+    }
+
+    @Override
+    protected CompletableFuture<String> invokeSuper() {
+      return doAsync(arg);
+    }
+  }
+
+  @Test
+  void interceptor_attachesToCompletion() throws Throwable {
+    MethodInterceptor timing = invocation -> {
+      trace.add("before");
+      ((Invocation.Async) invocation).invokeAsync().whenComplete((result, e) -> trace.add("completed " + result));
+      trace.add("after");
+    };
+    Invocation.Build<CompletableFuture<String>> call = new DoAsyncInvocation("a").with(this, doAsyncMethod, "a");
+
+    InterceptorChain.of(timing).invoke(call);
+    assertThat(trace).containsExactly("before", "doAsync a", "after");
+
+    future.complete("done");
+    assertThat(trace).containsExactly("before", "doAsync a", "after", "completed done");
+    assertThat(call.finalResult().join()).isEqualTo("done");
+  }
+
+  @Test
+  void retry_fromCompletionCallbackOnAnotherThread() throws Throwable {
+    AtomicInteger attempts = new AtomicInteger();
+    List<String> calls = new CopyOnWriteArrayList<>();
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      MethodInterceptor retry = invocation -> {
+        calls.add("retry");
+        Invocation.Async async = (Invocation.Async) invocation;
+        CompletableFuture<Object> result = new CompletableFuture<>();
+        async.invokeAsync().whenCompleteAsync((value, e) -> {
+          if (e == null) {
+            result.complete(value);
+            return;
+          }
+          try {
+            // invoke again after the interceptor has returned and from another thread
+            async.invokeAsync().whenComplete((retried, e2) -> {
+              if (e2 == null) {
+                result.complete(retried);
+              } else {
+                result.completeExceptionally(e2);
+              }
+            });
+          } catch (Throwable t) {
+            result.completeExceptionally(t);
+          }
+        }, executor);
+        invocation.result(result);
+      };
+      MethodInterceptor inner = invocation -> {
+        calls.add("inner");
+        invocation.invoke();
+      };
+      Invocation.Build<CompletableFuture<String>> call = new Invocation.AsyncSuper<CompletableFuture<String>>() {
+        @Override
+        protected CompletableFuture<String> invokeSuper() {
+          if (attempts.incrementAndGet() == 1) {
+            return CompletableFuture.failedFuture(new IllegalStateException("first"));
+          }
+          return CompletableFuture.completedFuture("second");
+        }
+      }.with(this, doAsyncMethod, "a");
+
+      InterceptorChain.of(retry, inner).invoke(call);
+      assertThat(call.finalResult().get(5, TimeUnit.SECONDS)).isEqualTo("second");
+      assertThat(attempts.get()).isEqualTo(2);
+      // the retry invokes the inner interceptor again and does not re-enter itself
+      assertThat(calls).containsExactly("retry", "inner", "inner");
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  void fallback_invokeAsync_completedExceptionally() throws Throwable {
+    Fallback fallback = Fallback.find("fallbackAsync", method());
+    Invocation.Build<CompletableFuture<String>> call = new DoAsyncInvocation("a").with(this, doAsyncMethod, "a");
+
+    CompletionStage<Object> result = fallback.invokeAsync((Invocation.Async) call);
+    assertThat(result.toCompletableFuture().isDone()).isFalse();
+
+    future.completeExceptionally(new IllegalStateException("late"));
+    assertThat(result.toCompletableFuture().join()).isEqualTo("fallback-a");
+    assertThat(trace).containsExactly("doAsync a", "fallback late");
+  }
+
+  @Test
+  void fallback_invokeAsync_success() throws Throwable {
+    Fallback fallback = Fallback.find("fallbackAsync", method());
+    Invocation.Build<CompletableFuture<String>> call = new DoAsyncInvocation("a").with(this, doAsyncMethod, "a");
+
+    CompletionStage<Object> result = fallback.invokeAsync((Invocation.Async) call);
+    future.complete("ok");
+
+    assertThat(result.toCompletableFuture().join()).isEqualTo("ok");
+    assertThat(trace).containsExactly("doAsync a");
+  }
+
+  @Test
+  void fallback_invokeAsync_fallbackReturnsValue() throws Throwable {
+    Fallback fallback = Fallback.find("fallbackValue", method());
+    Invocation.Build<CompletableFuture<String>> call = new DoAsyncInvocation("a").with(this, doAsyncMethod, "a");
+
+    CompletionStage<Object> result = fallback.invokeAsync((Invocation.Async) call);
+    future.completeExceptionally(new IllegalStateException("late"));
+
+    assertThat(result.toCompletableFuture().join()).isEqualTo("value-a");
+  }
+
+  private Method method() {
+    return doAsyncMethod.method();
+  }
+}
@@ -85,6 +85,28 @@ class InvocationFallbackTest {
     assertThat(call.finalResult()).isEqualTo("hello");
   }
 
+  @Test
+  void invokeWithFallback_privateWithThrowable_lookup() throws Throwable {
+    throwOnDoStuff = true;
+
+    Invocation.Build<String> call = new Invocation.Call<>(() -> this.doStuff(myArg))
+      .with(this, doStuffMethod, myArg);
+
+    Fallback fallback = Fallback.find("privateFallback", doStuffMethod, lookup);
+    new MyInterceptor(fallback).invoke(call);
+
+    assertThat(trace).containsExactly("doStuff", "privateFallback nope");
+    assertThat(fallbackArg).isSameAs(myArg);
+    assertThat(call.finalResult()).isEqualTo("private-fallback");
+    assertThat(call.arguments()).containsExactly(myArg);
+  }
+
+  private String privateFallback(Object arg, Throwable e) {
+    fallbackArg = arg;
+    trace.add("privateFallback " + e.getMessage());
+    return "private-fallback";
+  }
+
   static class MyInterceptor implements MethodInterceptor {
 
     final Fallback fallback;
@@ -0,0 +1,72 @@
+package io.avaje.inject.aop;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InvocationSuperTest {
+
+  private final List<String> trace = new ArrayList<>();
+  private final MethodDescriptor doStuffMethod = MethodDescriptor.of(InvocationSuperTest.class, "doStuff", String.class);
+
+  String doStuff(String arg) {
+    trace.add("doStuff");
+    return "hello " + arg;
+  }
+
+  final class DoStuffInvocation extends Invocation.Super<String> {
+
+    private final String arg;
+
+    DoStuffInvocation(String arg) {
+      this.arg = arg;
+    }
+
+    @Override
+    protected String invokeSuper() {
+      return doStuff(arg);
+    }
+  }
+
+  @Test
+  void single() throws Throwable {
+    Invocation.Build<String> call = new DoStuffInvocation("a").with(this, doStuffMethod, "a");
+
+    new Trace("Inter0").invoke(call);
+
+    assertThat(call.finalResult()).isEqualTo("hello a");
+    assertThat(trace).containsExactly("b-Inter0", "doStuff", "a-Inter0");
+  }
+
+  @Test
+  void wrapped() throws Throwable {
+    Invocation.Build<String> call = new DoStuffInvocation("a")
+      .with(this, doStuffMethod, "a")
+      .wrap(new Trace("Inter0"));
+
+    new Trace("Inter1").invoke(call);
+
+    assertThat(call.finalResult()).isEqualTo("hello a");
+    assertThat(call.arguments()).containsExactly("a");
+    assertThat(trace).containsExactly("b-Inter1", "b-Inter0", "doStuff", "a-Inter0", "a-Inter1");
+  }
+
+  final class Trace implements MethodInterceptor {
+
+    private final String name;
+
+    Trace(String name) {
+      this.name = name;
+    }
+
+    @Override
+    public void invoke(Invocation invocation) throws Throwable {
+      trace.add("b-" + name);
+      invocation.invoke();
+      trace.add("a-" + name);
+    }
+  }
+}
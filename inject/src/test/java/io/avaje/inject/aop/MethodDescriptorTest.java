@@ -0,0 +1,55 @@
+package io.avaje.inject.aop;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MethodDescriptorTest {
+
+  @Deprecated
+  String doStuff(String arg, int count) {
+    return arg + count;
+  }
+
+  @Test
+  void method_resolvedOnUse() throws NoSuchMethodException {
+    MethodDescriptor descriptor = MethodDescriptor.of(MethodDescriptorTest.class, "doStuff", String.class, int.class);
+    assertThat(descriptor.name()).isEqualTo("doStuff");
+
+    Method method = descriptor.method();
+    assertThat(method).isEqualTo(MethodDescriptorTest.class.getDeclaredMethod("doStuff", String.class, int.class));
+    assertThat(descriptor.method()).isSameAs(method);
+    assertThat(descriptor.annotation(Deprecated.class)).isNotNull();
+  }
+
+  @Test
+  void method_notFound() {
+    MethodDescriptor descriptor = MethodDescriptor.of(MethodDescriptorTest.class, "doesNotExist");
+    assertThrows(IllegalStateException.class, descriptor::method);
+  }
+
+  @Test
+  void invocation_method() throws Throwable {
+    MethodDescriptor descriptor = MethodDescriptor.of(MethodDescriptorTest.class, "doStuff", String.class, int.class);
+    Invocation.Build<String> call = new Invocation.Call<>(() -> doStuff("a", 1))
+      .with(this, descriptor, "a", 1);
+
+    call.invoke();
+    assertThat(call.finalResult()).isEqualTo("a1");
+    assertThat(call.method().getName()).isEqualTo("doStuff");
+  }
+
+  @Test
+  void aspectProvider_defaultResolvesAnnotation() {
+    MethodDescriptor descriptor = MethodDescriptor.of(MethodDescriptorTest.class, "doStuff", String.class, int.class);
+    AspectProvider<Deprecated> provider = (method, annotation) -> {
+      assertThat(method.getName()).isEqualTo("doStuff");
+      assertThat(annotation).isNotNull();
+      return invocation -> {};
+    };
+    assertThat(provider.interceptor(descriptor, Deprecated.class)).isNotNull();
+  }
+}
@@ -0,0 +1,91 @@
+package io.avaje.inject.spi;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DBeanMapTest {
+
+  @Test
+  void get_byClass() {
+    DBeanMap map = new DBeanMap();
+    map.nextBean(null, new Type[]{String.class, CharSequence.class});
+    map.register("A");
+
+    assertThat((Object) map.get(String.class, null)).isEqualTo("A");
+    assertThat((Object) map.get(CharSequence.class, null)).isEqualTo("A");
+    assertThat((Object) map.get(Integer.class, null)).isNull();
+  }
+
+  @Test
+  void freeze() {
+    DBeanMap map = new DBeanMap();
+    map.nextBean(null, new Type[]{String.class, CharSequence.class});
+    map.register("A");
+    map.nextBean("b", new Type[]{StringBuilder.class, CharSequence.class});
+    map.register(new StringBuilder("B"));
+
+    DBeanIndex index = map.freeze();
+    assertThat((Object) index.get(String.class, null)).isEqualTo("A");
+    assertThat(index.get(CharSequence.class, "b").toString()).isEqualTo("B");
+    assertThat((Object) index.get(Integer.class, null)).isNull();
+    assertThat(index.getStrict(String.class, "b")).isNull();
+    assertThat(index.all(CharSequence.class)).hasSize(2);
+    assertThat(index.contains(String.class)).isTrue();
+    assertThat(index.contains("java.lang.CharSequence")).isTrue();
+    assertThat(index.contains("java.lang.Integer")).isFalse();
+  }
+
+  @Test
+  void get_byGenericType() {
+    Type listOfString = new GenericType<List<String>>() {}.type();
+    DBeanMap map = new DBeanMap();
+    map.nextBean(null, new Type[]{listOfString});
+    map.register("A");
+
+    assertThat((Object) map.get(new GenericType<List<String>>() {}, null)).isEqualTo("A");
+    assertThat((Object) map.get(new GenericType<List<String>>() {}.type(), null)).isEqualTo("A");
+    assertThat((Object) map.get(new GenericType<List<Integer>>() {}.type(), null)).isNull();
+  }
+
+  @Test
+  void get_byOtherParameterizedTypeImplementation() {
+    DBeanMap map = new DBeanMap();
+    map.nextBean(null, new Type[]{new GenericType<List<String>>() {}.type()});
+    map.register("A");
+
+    Type other = new OtherListOfString();
+    assertThat((Object) map.get(other, null)).isEqualTo("A");
+    assertThat((Object) map.freeze().get(other, null)).isEqualTo("A");
+  }
+
+  /**
+   * ParameterizedType implementation that does not implement equals with the JDK implementation.
+   */
+  static final class OtherListOfString implements ParameterizedType {
+
+    @Override
+    public Type[] getActualTypeArguments() {
+      return new Type[]{String.class};
+    }
+
+    @Override
+    public Type getRawType() {
+      return List.class;
+    }
+
+    @Override
+    public Type getOwnerType() {
+      return null;
+    }
+
+    @Override
+    public String getTypeName() {
+      return "java.util.List<java.lang.String>";
+    }
+  }
+}
@@ -0,0 +1,116 @@
+package io.avaje.inject.spi;
+
+import io.avaje.inject.BeanScope;
+import jakarta.inject.Provider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DBuilderTest {
+
+  private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+  @AfterEach
+  void shutdown() {
+    executor.shutdown();
+  }
+
+  @Test
+  void buildModules() {
+    ScopeBuild builder = ScopeBuild.of(Collections.emptyList(), Collections.emptyList(), null, false);
+    builder.buildModules(List.of(TestModule.of(this::buildStrings), TestModule.of(this::buildNumbers)), executor);
+
+    BeanScope scope = builder.build(false);
+    // registered in the order of the modules
+    assertThat(scope.list(Comparable.class)).containsExactly("a", "ab", 1, 2L);
+    assertThat(scope.get(Long.class)).isEqualTo(2L);
+    assertThat(scope.get(CharSequence.class, "ab")).isEqualTo("ab");
+  }
+
+  @Test
+  void buildModules_secondaryProvider_createdOnce() {
+    ScopeBuild builder = ScopeBuild.of(Collections.emptyList(), Collections.emptyList(), null, false);
+    builder.buildModules(List.of(TestModule.of(this::buildStrings), TestModule.of(b -> {
+      if (b.isAddBeanFor(StringBuilder.class)) {
+        b.asSecondary().registerProvider((Provider<StringBuilder>) StringBuilder::new);
+      }
+      if (b.isAddBeanFor(Object[].class)) {
+        // the provided bean is created while building this module
+        b.register(new Object[]{b.get(StringBuilder.class)});
+      }
+    })), executor);
+
+    BeanScope scope = builder.build(false);
+    Object[] holder = scope.get(Object[].class);
+    assertThat(holder[0]).isSameAs(scope.get(StringBuilder.class));
+  }
+
+  @Test
+  void buildModules_readsQualifiedBeanOfEarlierModule() {
+    ScopeBuild builder = ScopeBuild.of(Collections.emptyList(), Collections.emptyList(), null, false);
+    builder.buildModule(TestModule.of(this::buildStrings));
+    builder.buildModules(List.of(TestModule.of(b -> {
+      if (b.isAddBeanFor("b", String.class, CharSequence.class, Comparable.class)) {
+        b.register("b");
+      }
+      if (b.isAddBeanFor(StringBuilder.class)) {
+        // the bean of the earlier module and not the one registered by this module
+        b.register(new StringBuilder(b.get(String.class, "a")));
+      }
+    }), TestModule.of(this::buildNumbers)), executor);
+
+    BeanScope scope = builder.build(false);
+    assertThat(scope.get(StringBuilder.class).toString()).isEqualTo("a");
+  }
+
+  @Test
+  void buildModules_failure_thrownAfterAllModulesComplete() {
+    List<String> events = new ArrayList<>();
+    ScopeBuild builder = ScopeBuild.of(Collections.emptyList(), Collections.emptyList(), null, false);
+    List<Module> modules = List.of(TestModule.of(b -> {
+      throw new IllegalStateException("boom");
+    }), TestModule.of(b -> {
+      try {
+        Thread.sleep(100);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      synchronized (events) {
+        events.add("completed");
+      }
+    }));
+
+    IllegalStateException e = assertThrows(IllegalStateException.class, () -> builder.buildModules(modules, executor));
+    assertThat(e.getMessage()).isEqualTo("boom");
+    synchronized (events) {
+      assertThat(events).containsExactly("completed");
+    }
+  }
+
+  private void buildStrings(Builder builder) {
+    if (builder.isAddBeanFor("a", String.class, CharSequence.class, Comparable.class)) {
+      builder.register("a");
+    }
+    if (builder.isAddBeanFor("ab", String.class, CharSequence.class, Comparable.class)) {
+      // depends on a bean registered by this module
+      builder.register(builder.get(String.class, "a") + "b");
+    }
+  }
+
+  private void buildNumbers(Builder builder) {
+    if (builder.isAddBeanFor(Integer.class, Comparable.class)) {
+      builder.register(1);
+    }
+    if (builder.isAddBeanFor(Long.class, Comparable.class)) {
+      builder.register(builder.get(Integer.class) + 1L);
+    }
+  }
+}
@@ -3,7 +3,16 @@ package io.avaje.inject.spi;
 import io.avaje.inject.BeanEntry;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class DContextEntryTest {
@@ -95,4 +104,71 @@ public class DContextEntryTest {
 
     assertEquals(entry.get("b"), "S2");
   }
+
+  @Test
+  public void get_when_frozen_resolvedOncePerName() {
+
+    DContextEntry entry = new DContextEntry();
+    entry.add(DContextEntryBean.of("N", "a", BeanEntry.NORMAL));
+    entry.add(DContextEntryBean.of("P", null, BeanEntry.PRIMARY));
+    entry.freeze();
+
+    assertEquals(entry.get(null), "P");
+    assertEquals(entry.get(null), "P");
+    assertEquals(entry.get("a"), "N");
+    assertEquals(entry.get("a"), "N");
+    assertEquals(entry.getStrict("b"), null);
+    assertEquals(entry.provider("a").get(), "N");
+  }
+
+  @Test
+  public void get_when_frozen_otherName_matchedOnLookup() {
+
+    DContextEntry entry = new DContextEntry();
+    entry.add(DContextEntryBean.of("N", "a", BeanEntry.NORMAL));
+    entry.add(DContextEntryBean.of("P", null, BeanEntry.PRIMARY));
+    entry.freeze();
+
+    assertEquals(entry.get("!a"), "N");
+    assertEquals(entry.get("!c"), "P");
+    assertEquals(entry.get("c"), null);
+  }
+
+  @Test
+  public void get_when_frozen_twoPrimary_throwsEachTime() {
+
+    DContextEntry entry = new DContextEntry();
+    entry.add(DContextEntryBean.of("P", null, BeanEntry.PRIMARY));
+    entry.add(DContextEntryBean.of("S", null, BeanEntry.PRIMARY));
+    entry.freeze();
+
+    assertThrows(IllegalStateException.class, () -> entry.get(null));
+    assertThrows(IllegalStateException.class, () -> entry.get(null));
+  }
+
+  @Test
+  public void onceProvider_concurrentAccess_createdOnce() throws Exception {
+
+    AtomicInteger count = new AtomicInteger();
+    DContextEntryBean entryBean = DContextEntryBean.provider(false, () -> {
+      count.incrementAndGet();
+      return new Object();
+    }, null, BeanEntry.NORMAL, null, null);
+
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      Callable<Object> task = entryBean::bean;
+      List<Future<Object>> futures = new ArrayList<>();
+      for (int i = 0; i < 64; i++) {
+        futures.add(executor.submit(task));
+      }
+      Object first = entryBean.bean();
+      for (Future<Object> future : futures) {
+        assertSame(first, future.get());
+      }
+    } finally {
+      executor.shutdown();
+    }
+    assertEquals(1, count.get());
+  }
 }
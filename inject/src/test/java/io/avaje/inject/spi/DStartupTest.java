@@ -0,0 +1,50 @@
+package io.avaje.inject.spi;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DStartupTest {
+
+  private final DStartup startup = new DStartup(false, true);
+
+  @Test
+  void report_slowestAndCriticalPath() {
+    String a = "a";
+    StringBuilder b = new StringBuilder("b");
+    Long c = 3L;
+    create("org.A", a, 30);
+    create("org.B", b, 20);
+    create("org.C", c, 5);
+
+    Map<Object, List<Object>> dependencies = Collections.singletonMap(b, List.of(a));
+    String report = startup.report(bean -> dependencies.getOrDefault(bean, Collections.emptyList()));
+
+    assertThat(report).contains("slowest:\n  ");
+    assertThat(report.indexOf("create org.A")).isLessThan(report.indexOf("create org.B"));
+    assertThat(report.indexOf("create org.B")).isLessThan(report.indexOf("create org.C"));
+
+    String criticalPath = report.substring(report.indexOf("critical path"));
+    assertThat(criticalPath).contains("create org.A");
+    assertThat(criticalPath.indexOf("create org.A")).isLessThan(criticalPath.indexOf("create org.B"));
+    assertThat(criticalPath).doesNotContain("org.C");
+  }
+
+  private void create(String type, Object bean, long millis) {
+    DStartup.Timing timing = startup.start(DStartup.CREATE, type, null);
+    sleep(millis);
+    startup.end(timing, bean);
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
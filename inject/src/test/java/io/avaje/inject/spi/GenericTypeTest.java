@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -53,6 +54,37 @@ class GenericTypeTest {
     assertThat(pType.getActualTypeArguments()[0]).isEqualTo(String.class);
   }
 
+  @Test
+  void of_equalsReflectType() {
+    Type reflectType = new GenericType<Map<String, List<? extends Number>>>() {}.type();
+    Type type = GenericType.of(Map.class, String.class, GenericType.of(List.class, GenericType.wildcardExtends(Number.class)));
+
+    assertThat(type).isEqualTo(reflectType);
+    assertThat(reflectType).isEqualTo(type);
+    assertThat(type.hashCode()).isEqualTo(reflectType.hashCode());
+    assertThat(type.getTypeName()).isEqualTo(reflectType.getTypeName());
+  }
+
+  @Test
+  void of_nestedType() {
+    Type reflectType = new GenericType<Map.Entry<String, ?>>() {}.type();
+    Type type = GenericType.of(Map.Entry.class, String.class, GenericType.wildcard());
+
+    assertThat(type).isEqualTo(reflectType);
+    assertThat(type.hashCode()).isEqualTo(reflectType.hashCode());
+    assertThat(type.getTypeName()).isEqualTo("java.util.Map$Entry<java.lang.String, ?>");
+  }
+
+  @Test
+  void wildcardSuper() {
+    Type reflectType = new GenericType<List<? super Integer>>() {}.type();
+    Type type = GenericType.of(List.class, GenericType.wildcardSuper(Integer.class));
+
+    assertThat(type).isEqualTo(reflectType);
+    assertThat(type.hashCode()).isEqualTo(reflectType.hashCode());
+    assertThat(type.getTypeName()).isEqualTo(reflectType.getTypeName());
+  }
+
   private static class TypeArgs extends GenericType<String> {
 
   }
@@ -0,0 +1,48 @@
+package io.avaje.inject.spi;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Module for tests that builds its beans via the given function.
+ */
+public final class TestModule implements Module {
+
+  private final Consumer<Builder> build;
+  private final List<List<Consumer<Builder>>> levels;
+
+  private TestModule(Consumer<Builder> build, List<List<Consumer<Builder>>> levels) {
+    this.build = build;
+    this.levels = levels;
+  }
+
+  /**
+   * Return the module building its beans via the given function.
+   */
+  public static Module of(Consumer<Builder> build) {
+    return new TestModule(build, null);
+  }
+
+  /**
+   * Return the module with the given build levels (null when not supported) that is built
+   * via the given function when built sequentially.
+   */
+  public static Module of(Consumer<Builder> build, List<List<Consumer<Builder>>> levels) {
+    return new TestModule(build, levels);
+  }
+
+  @Override
+  public Class<?>[] classes() {
+    return new Class<?>[0];
+  }
+
+  @Override
+  public void build(Builder builder) {
+    build.accept(builder);
+  }
+
+  @Override
+  public List<List<Consumer<Builder>>> buildLevels() {
+    return levels;
+  }
+}